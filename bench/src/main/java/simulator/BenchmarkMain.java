@@ -0,0 +1,31 @@
+package simulator;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Class:			BenchmarkMain
+ * Purpose:			Runs the benchmarks with the usual JMH command line options, always adding the GC profiler so the
+ * 					allocation rate (gc.alloc.rate.norm, in bytes per operation) is reported beside the throughput.
+ * 					For example "-p frames=16 -p processes=8 SimulationBenchmark" runs one configuration.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class BenchmarkMain {
+
+	/**
+	 * Method main
+	 * Purpose:			Main method that runs the benchmarks chosen on the command line.
+	 * Parameters:		@param args the JMH options
+	 * Throws:			@throws RunnerException if a benchmark fails
+	 * 					@throws CommandLineOptionException if the options cannot be read
+	 */
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions options = new CommandLineOptions(args);
+		new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+	}
+}
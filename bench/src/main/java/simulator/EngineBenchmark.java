@@ -0,0 +1,142 @@
+package simulator;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:			EngineBenchmark
+ * Purpose:			Measures the steps of the simulation one at a time: executing a page already in memory, checking
+ * 					whether a page is in memory, loading a page through the replacement algorithm, choosing the next
+ * 					process by round robin, and releasing blocked processes. The processes run looping traces, so
+ * 					they never finish and each step can be repeated as often as JMH asks.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+	@Param({ "4", "16", "64" })
+	public int frames;							//The frames of each process
+	@Param({ "1", "8", "32" })
+	public int processes;						//The processes waiting or blocked
+	@Param({ "1000", "100000" })
+	public int length;							//The references before a looping trace repeats
+	@Param({ "lru", "clock" })
+	public String policy;						//The replacement algorithm
+	private CPU<Process> cpu;					//The CPU the steps are taken on
+	private Process resident;					//A process whose pages are all in memory
+	private Process faulting;					//A process that faults on every reference
+	private int[] lookups;						//Pages to check for, half of them not in memory
+	private int lookup;							//The next page to check for
+	private Queue<Process> waiting;				//Processes waiting to be chosen by round robin
+	private Process[] blocked;					//Processes blocked and released in turn
+
+	/**
+	 * Method setUp
+	 * Purpose:			Used to create the CPU and processes and fill the frames of the resident process.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		cpu = Policies.create(policy, Integer.MAX_VALUE);
+		resident = new Process(1, "resident", frames, new LoopTrace(Workloads.references(1, length, frames)));
+		resident.setPolicy(cpu.createPolicy(resident));
+		for (int slot = 0; slot < frames; slot++) {
+			resident.loadPage(slot, slot);
+			resident.getPolicy().onFault(slot, slot);
+		}
+		faulting = new Process(2, "faulting", frames, new LoopTrace(Workloads.cycle(length, frames + 1)));
+		faulting.setPolicy(cpu.createPolicy(faulting));
+		lookups = Workloads.references(3, length, frames * 2);
+		waiting = new ArrayDeque<Process>();
+		blocked = new Process[processes];
+		for (int i = 0; i < processes; i++) {
+			Process process = new Process(i + 1, "process" + (i + 1), frames);
+			process.setExitTime(i % 7);
+			process.setReadyTime(i % 5);
+			waiting.add(process);
+			blocked[i] = new Process(i + 1, "process" + (i + 1), frames);
+		}
+		cpu.blockedQueue = new BlockedQueue<Process>(resident.getSwapTime());
+	}
+
+	/**
+	 * Method execute
+	 * Purpose:			Used to execute one reference of a process whose page is in memory.
+	 */
+	@Benchmark
+	public void execute() {
+		cpu.execute(resident);
+		cpu.runningQueue.clear();
+	}
+
+	/**
+	 * Method check
+	 * Purpose:			Used to check whether a page is in the memory of a process.
+	 * Return:			@return whether it was, so the check is not optimised away
+	 */
+	@Benchmark
+	public boolean check() {
+		int page = lookups[lookup];
+		lookup = lookup + 1 == lookups.length ? 0 : lookup + 1;
+		return cpu.check(resident, page);
+	}
+
+	/**
+	 * Method operateReadyQueue
+	 * Purpose:			Used to dispatch a process from the ready queue whose next page is not in memory, so the
+	 * 					replacement algorithm chooses a frame and the page is loaded.
+	 */
+	@Benchmark
+	public void operateReadyQueue() {
+		cpu.readyQueue.add(faulting);
+		cpu.operateReadyQueue();
+		cpu.runningQueue.clear();
+	}
+
+	/**
+	 * Method getNext
+	 * Purpose:			Used to choose the next process from a queue by round robin.
+	 * Return:			@return the process chosen, so the choice is not optimised away
+	 */
+	@Benchmark
+	public Process getNext() {
+		return cpu.getNext(waiting);
+	}
+
+	/**
+	 * Method operateBlockedQueue
+	 * Purpose:			Used to step the blocked queue through one swap time, blocking every process once and releasing
+	 * 					each process blocked a swap time earlier.
+	 */
+	@Benchmark
+	public void operateBlockedQueue() {
+		int swapTime = resident.getSwapTime();
+		for (int tick = 0; tick < swapTime; tick++) {
+			cpu.currentTime++;
+			cpu.operateBlockedQueue();
+			for (int i = tick; i < blocked.length; i += swapTime) {
+				blocked[i].setReadyTime(cpu.currentTime);
+				cpu.blockedQueue.add(blocked[i]);
+			}
+		}
+		cpu.readyQueue.clear();
+	}
+}
@@ -0,0 +1,94 @@
+package simulator;
+
+/**
+ * Class:			LoopTrace
+ * Purpose:			A trace that repeats its references forever, so a benchmark can execute a process any number of
+ * 					times without it finishing. The cursor keeps counting, and the reference at a position is found
+ * 					by wrapping it around the references.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class LoopTrace implements Trace {
+	private int[] references;			//The references repeated
+	private int cursor;					//The position of the next reference to execute
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param references the references to repeat
+	 */
+	public LoopTrace(int[] references) {
+		this.references = references;
+		this.cursor = 0;
+	}
+
+	/**
+	 * Method peek
+	 * Purpose:			Used to return the next reference to execute.
+	 * Return:			@return the page number
+	 */
+	@Override
+	public int peek() {
+		return get(cursor);
+	}
+
+	/**
+	 * Method advance
+	 * Purpose:			Used to move past the reference that was just executed, starting again from zero if the cursor
+	 * 					would overflow.
+	 */
+	@Override
+	public void advance() {
+		cursor = cursor == Integer.MAX_VALUE ? 0 : cursor + 1;
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to return the reference at a position, wrapped around the references.
+	 * Parameters:		@param index the position
+	 * Return:			@return the page number
+	 */
+	@Override
+	public int get(int index) {
+		return references[index % references.length];
+	}
+
+	/**
+	 * Method isEmpty
+	 * Purpose:			Used to determine whether every reference has been executed, which never happens.
+	 * Return:			@return false
+	 */
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	/**
+	 * Method remaining
+	 * Purpose:			Used to return the number of references left, which is unlimited.
+	 * Return:			@return the largest int
+	 */
+	@Override
+	public int remaining() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Method length
+	 * Purpose:			Used to return the number of references executed so far.
+	 * Return:			@return the cursor
+	 */
+	@Override
+	public int length() {
+		return cursor;
+	}
+
+	/**
+	 * Method getCursor
+	 * Purpose:			Used to return the position of the next reference to execute.
+	 * Return:			@return the cursor
+	 */
+	@Override
+	public int getCursor() {
+		return cursor;
+	}
+}
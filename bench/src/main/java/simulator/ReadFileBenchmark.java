@@ -0,0 +1,110 @@
+package simulator;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:			ReadFileBenchmark
+ * Purpose:			Measures reading trace files the way the driver does, in the text format and the compressed and
+ * 					uncompressed binary formats. The files are written to a temporary directory once per trial and the
+ * 					operating system will usually have them cached, so this measures parsing rather than the disk. The
+ * 					directory has no digits in its name, as the driver takes the process ID from the digits of the path.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadFileBenchmark {
+	@Param({ "1000", "100000", "1000000" })
+	public int length;							//The references in the file
+	@Param({ "text", "binary", "compressed" })
+	public String format;						//The format of the file
+	private Path directory;						//The temporary directory holding the file
+	private String fileName;					//The file read
+	private A3 driver;							//The driver whose readFile is measured
+
+	/**
+	 * Class:			Counters
+	 * Purpose:			The counters reported alongside the files read per second.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long references;					//The references read
+	}
+
+	/**
+	 * Method writeFile
+	 * Purpose:			Used to write the trace file in the format being measured.
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void writeFile() throws IOException {
+		directory = Files.createDirectories(Paths.get(System.getProperty("java.io.tmpdir"), "trace-bench-" + format));
+		Path text = directory.resolve("Process1.txt");
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(text))) {
+			for (int page : Workloads.references(1, length, 1000))
+				writer.println(page);
+			writer.println("end");
+		}
+		if (format.equals("text"))
+			fileName = text.toString();
+		else {
+			Path binary = directory.resolve("Process1.pgt");
+			TraceConverter.convert(text.toString(), binary.toString(), format.equals("compressed"));
+			fileName = binary.toString();
+		}
+		driver = new A3();
+	}
+
+	/**
+	 * Method deleteFile
+	 * Purpose:			Used to remove the temporary directory.
+	 * Throws:			@throws IOException if the files cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void deleteFile() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator)
+				Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	/**
+	 * Method readFile
+	 * Purpose:			Used to read the whole file into a trace.
+	 * Parameters:		@param counters the counters to add the references read to
+	 * Return:			@return the trace, so the read is not optimised away
+	 */
+	@Benchmark
+	public ProcessTrace readFile(Counters counters) {
+		ProcessTrace trace = driver.readFile(fileName);
+		counters.references += trace.length();
+		return trace;
+	}
+}
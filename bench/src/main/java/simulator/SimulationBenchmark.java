@@ -0,0 +1,95 @@
+package simulator;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:			SimulationBenchmark
+ * Purpose:			Measures whole simulations, from the first fault of every process until the last one finishes.
+ * 					The "references" counter gives the references simulated per second, which is the number to
+ * 					compare between engine changes. The traces are created once per trial and new processes and a new
+ * 					CPU are created before each simulation, outside the measured time.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+	@Param({ "4", "16", "64" })
+	public int frames;							//The frames of each process
+	@Param({ "1", "8", "32" })
+	public int processes;						//The number of processes
+	@Param({ "1000", "100000" })
+	public int length;							//The references of each process
+	@Param({ "lru", "clock" })
+	public String policy;						//The replacement algorithm
+	private ProcessTrace[] traces;				//The trace of each process
+	private Queue<Process> queue;				//The processes for the next simulation
+	private CPU<Process> cpu;					//The CPU for the next simulation
+
+	/**
+	 * Class:			Counters
+	 * Purpose:			The counters reported alongside the simulations per second.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long references;					//The references simulated
+	}
+
+	/**
+	 * Method createTraces
+	 * Purpose:			Used to create the trace of every process, with twice as many pages as frames.
+	 */
+	@Setup(Level.Trial)
+	public void createTraces() {
+		traces = new ProcessTrace[processes];
+		for (int i = 0; i < processes; i++)
+			traces[i] = new ProcessTrace(i + 1, "process" + (i + 1), Workloads.references(i + 1, length, frames * 2));
+	}
+
+	/**
+	 * Method createSimulation
+	 * Purpose:			Used to create the processes and CPU for the next simulation.
+	 */
+	@Setup(Level.Invocation)
+	public void createSimulation() {
+		queue = new ArrayDeque<Process>();
+		for (ProcessTrace trace : traces)
+			queue.add(new Process(trace.getID(), trace.getName(), frames, new ArrayTrace(trace.getReferences(), trace.length())));
+		cpu = Policies.create(policy, 3);
+		cpu.setEventDriven(true);
+	}
+
+	/**
+	 * Method simulate
+	 * Purpose:			Used to run one simulation to completion.
+	 * Parameters:		@param counters the counters to add the references simulated to
+	 * Return:			@return the CPU, so the simulation is not optimised away
+	 */
+	@Benchmark
+	public CPU<Process> simulate(Counters counters) {
+		cpu.run(queue);
+		counters.references += (long) processes * length;
+		return cpu;
+	}
+}
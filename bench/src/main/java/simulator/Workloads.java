@@ -0,0 +1,56 @@
+package simulator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class:			Workloads
+ * Purpose:			Creates the reference strings used by the benchmarks. Each string moves a small hot set of pages
+ * 					along every few hundred references and mixes in uniform references to the rest of the pages, so
+ * 					the simulator sees both hits and faults. The strings are fixed by their seed, so every run of a
+ * 					benchmark simulates the same references.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Workloads {
+	private static final int HOT_PAGES = 8;				//The pages in the hot set
+	private static final int PHASE = 500;				//The references before the hot set moves
+	private static final int HOT_PERCENT = 90;			//The share of references to the hot set
+
+	/**
+	 * Method references
+	 * Purpose:			Used to create a reference string.
+	 * Parameters:		@param seed the seed of the string
+	 * 					@param length the number of references
+	 * 					@param pages the number of distinct pages
+	 * Return:			@return the page numbers
+	 */
+	public static int[] references(long seed, int length, int pages) {
+		SplittableRandom random = new SplittableRandom(seed);
+		int[] references = new int[length];
+		int base = 0;
+		for (int i = 0; i < length; i++) {
+			if (i % PHASE == 0)
+				base = random.nextInt(pages);
+			if (random.nextInt(100) < HOT_PERCENT)
+				references[i] = (base + random.nextInt(HOT_PAGES)) % pages;
+			else
+				references[i] = random.nextInt(pages);
+		}
+		return references;
+	}
+
+	/**
+	 * Method cycle
+	 * Purpose:			Used to create a reference string that visits pages in order and starts again, which faults on
+	 * 					every reference under LRU and clock when there are more pages than frames.
+	 * Parameters:		@param length the number of references
+	 * 					@param pages the number of pages in the cycle
+	 * Return:			@return the page numbers
+	 */
+	public static int[] cycle(int length, int pages) {
+		int[] references = new int[length];
+		for (int i = 0; i < length; i++)
+			references[i] = i % pages;
+		return references;
+	}
+}
@@ -0,0 +1,30 @@
+package simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class:			StackDistanceTest
+ * Purpose:			Checks the miss ratio curve of StackDistance against the page faults CPULRU finds, including for
+ * 					traces longer than the maximum pages a loaded process executes.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class StackDistanceTest {
+	/**
+	 * Method verifiesWholeLongTrace
+	 * Purpose:			Used to check that every reference of a trace longer than the maximum pages is simulated and
+	 * 					agrees with the curve.
+	 */
+	@Test
+	public void verifiesWholeLongTrace() {
+		int[] references = Workloads.references(7, 2000, 24);
+		ProcessTrace trace = new ProcessTrace(1, "long", references);
+		StackDistance analysis = new StackDistance(references, references.length);
+		assertTrue(references.length > trace.createProcess(1).getTrace().length());
+		assertEquals(2000, analysis.getReferences());
+		assertEquals(0, StackDistance.verify(trace, references.length, analysis.getDistinctPages() + 1).size());
+	}
+}
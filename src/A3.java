@@ -1,10 +1,16 @@
 import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 
 /**
  * Class:			A#
@@ -13,6 +19,9 @@ import java.util.Queue;
  * Student Number:	3307768
  */
 public class A3 {
+	private static final int READ_AHEAD = 1024;		//The references each streaming process reads ahead of its cursor
+	private boolean namedIDs;						//Whether IDs come from the file name alone rather than the whole path
+	private FileHandles handles;					//The handles keeping streamed files under the limit of open files
 
 	/**
 	 * Method main
@@ -28,69 +37,467 @@ public class A3 {
 	/**
 	 * Method readArgs
 	 * Purpose:			Used to read the arguments entered to gather the text files and other relevant information.
-	 * Postcondition:	Creates the algorithms and their associated data such as processes.
+	 * Postcondition:	Creates the algorithms and their associated data such as processes. Options starting with "--"
+	 * 					may come before the frames, for example "--tick" to step the simulation one tick at a time, or
+	 * 					"--stream" to read each file as it is executed without the maximum pages. The algorithms are LRU
+	 * 					and clock unless chosen with "--policies=" and a comma separated list such as "lru,arc,lirs".
+	 * 					The frames are split evenly between the processes unless "--allocation=" chooses global, ws or
+	 * 					pff allocation from one shared pool. The algorithms are run at the same time, on at most
+	 * 					"--threads=N" threads. With "--metrics=N", a snapshot of the counters of each algorithm is
+	 * 					written to the error stream every N ticks, followed by histograms of the queue depths. The
+	 * 					results are a table unless "--format=csv" or "--format=json" is chosen. With "--cache=DIR",
+	 * 					results are kept in the directory, up to "--cache-size=MB" megabytes, and a run of the same
+	 * 					files with the same settings is not simulated again. Runs measured by "--metrics=" are not cached.
+	 * 					With "--input=" and a directory or a manifest listing one file on each line, the files are
+	 * 					taken from it rather than the command line, and each ID comes from the digits of the file name
+	 * 					alone. The files are loaded at the same time, with at most "--open-files=N" open at once, which
+	 * 					also limits the files held open while streaming, closing and reopening files as needed.
+	 * 					With "--checkpoint=FILE", the state of each algorithm is written to the file, followed by the
+	 * 					name of the algorithm when there are several, every "--checkpoint-every=N" ticks, and with
+	 * 					"--checkpoint-stop" the algorithms stop at their first checkpoint. "--resume=FILE" continues the
+	 * 					algorithm of a checkpoint given the same files and frames, with the time quantum given, so many
+	 * 					runs can share one warm up. Runs that write or resume checkpoints are not cached.
+	 * 					With "--online=N", no files are given. Instead each line of the input is the ID of a process
+	 * 					and a page it references, or the ID and "end", for up to N processes, and the algorithms are
+	 * 					run on the references as they arrive. The frames are split evenly between the N processes.
 	 * @param args arguments entered by the user defining the data from the text file.
 	 */
 	private void readArgs(String[] args) {
-		if (args.length < 3)
+		int first = 0;								//Index of the first positional argument
+		boolean eventDriven = true;					//Whether idle time is skipped by the simulation
+		boolean streaming = false;					//Whether files are read as they are executed
+		int threads = Runtime.getRuntime().availableProcessors();	//The most algorithms run at the same time
+		List<String> policies = Policies.parse("lru,clock");		//The replacement algorithms to run
+		Allocation allocation = Allocation.parse("fixed");			//How the frames are allocated to the processes
+		int metricsInterval = -1;					//The ticks between snapshots of the metrics, or -1 for none
+		int format = ReportWriter.TABLE;			//The format of the results
+		String cacheDirectory = null;				//The directory of cached results, or null for no cache
+		long cacheBytes = 256L << 20;				//The most bytes of cached results
+		String input = null;						//The directory or manifest of the files, or null to list them as arguments
+		int openFiles = 64;							//The most files open at once while loading
+		String checkpoint = null;					//The file checkpoints are written to, or null for none
+		int checkpointEvery = 10000;				//The ticks between checkpoints
+		boolean checkpointStop = false;				//Whether the algorithms stop at their first checkpoint
+		String resume = null;						//The checkpoint to resume, or null to run from the start
+		int online = 0;								//The most processes read from the input, or 0 to read files
+		while (first < args.length && args[first].startsWith("--")) {
+			if (args[first].equals("--tick"))
+				eventDriven = false;
+			else if (args[first].equals("--stream"))
+				streaming = true;
+			else if (args[first].startsWith("--threads="))
+				threads = Integer.parseInt(args[first].substring("--threads=".length()));
+			else if (args[first].startsWith("--policies="))
+				policies = Policies.parse(args[first].substring("--policies=".length()));
+			else if (args[first].startsWith("--allocation="))
+				allocation = Allocation.parse(args[first].substring("--allocation=".length()));
+			else if (args[first].startsWith("--metrics="))
+				metricsInterval = Integer.parseInt(args[first].substring("--metrics=".length()));
+			else if (args[first].startsWith("--format="))
+				format = ReportWriter.parse(args[first].substring("--format=".length()));
+			else if (args[first].startsWith("--cache="))
+				cacheDirectory = args[first].substring("--cache=".length());
+			else if (args[first].startsWith("--cache-size="))
+				cacheBytes = Long.parseLong(args[first].substring("--cache-size=".length())) << 20;
+			else if (args[first].startsWith("--input="))
+				input = args[first].substring("--input=".length());
+			else if (args[first].startsWith("--open-files="))
+				openFiles = Integer.parseInt(args[first].substring("--open-files=".length()));
+			else if (args[first].startsWith("--checkpoint="))
+				checkpoint = args[first].substring("--checkpoint=".length());
+			else if (args[first].startsWith("--checkpoint-every="))
+				checkpointEvery = Integer.parseInt(args[first].substring("--checkpoint-every=".length()));
+			else if (args[first].equals("--checkpoint-stop"))
+				checkpointStop = true;
+			else if (args[first].startsWith("--resume="))
+				resume = args[first].substring("--resume=".length());
+			else if (args[first].startsWith("--online="))
+				online = Integer.parseInt(args[first].substring("--online=".length()));
+			else
+				throw new IllegalArgumentException("Unknown option " + args[first] + ".");
+			first++;
+		}
+		if (online > 0) {
+			if (args.length - first != 2)
+				throw new IllegalArgumentException("Invalid arguements. Only the number of frames and a time quantum are given with --online.");
+			runOnline(Integer.parseInt(args[first]), Integer.parseInt(args[first + 1]), online, policies, allocation, metricsInterval, format);
+			return;
+		}
+		List<String> fileNames = new ArrayList<String>();
+		if (input != null) {
+			namedIDs = true;
+			try {
+				fileNames.addAll(TraceIngest.list(input));
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException("The input " + input + " cannot be read.", e);
+			}
+		}
+		for (int i = first + 2; i < args.length; i++)
+			fileNames.add(args[i]);
+		if (args.length - first < 2 || fileNames.isEmpty())
 			throw new IllegalArgumentException("Invalid arguements. The number of frames, a time quantum and at least one process must be defined.");
-		int processFrames = (Integer.parseInt(args[0])) / (args.length - 2);		//Number of frames allocated to each process
-		int quantum = Integer.parseInt(args[1]);									//The time quantum for the round robin scheduling
-		Queue<Process> queue = new ArrayDeque<Process>();
-		Queue<Process> queue2 = new ArrayDeque<Process>();
-		for (int i = 2; i < args.length; i++) {
-			queue.add(readFile(args[i], processFrames));
-			queue2.add(readFile(args[i], processFrames));
+		int frames = Integer.parseInt(args[first]);										//Number of frames of main memory
+		int processFrames = allocation.isFixed() ? frames / fileNames.size() : frames;	//Number of frames each process may use
+		int quantum = Integer.parseInt(args[first + 1]);								//The time quantum for the round robin scheduling
+		if (resume != null) {
+			try {
+				policies = Policies.parse(Checkpoint.readPolicy(resume));
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException("The checkpoint " + resume + " cannot be read.", e);
+			}
+		}
+		List<CPU<Process>> cpus = new ArrayList<CPU<Process>>();
+		for (String policy : policies)
+			cpus.add(Policies.<Process>create(policy, quantum));
+		for (CPU<Process> cpu : cpus) {
+			cpu.setEventDriven(eventDriven);
+			cpu.setAllocation(allocation, frames);
+			if (metricsInterval >= 0)
+				cpu.setMetrics(new Metrics(metricsInterval, A3::printSnapshot));
+		}
+		if (metricsInterval >= 0)
+			System.err.println(MetricsSnapshot.HEADER);
+		if (streaming)
+			handles = new FileHandles(openFiles);
+		int loaders = Math.min(openFiles, 4 * Runtime.getRuntime().availableProcessors());	//The threads loading files
+		List<ProcessTrace> traces = streaming ? new ArrayList<ProcessTrace>() : new TraceIngest(loaders, openFiles).load(fileNames, this::readFile);
+		boolean checkpointing = checkpoint != null || resume != null;	//Whether the runs write or resume checkpoints
+		ResultCache cache = cacheDirectory == null || metricsInterval >= 0 || checkpointing ? null : openCache(cacheDirectory, cpus.size(), cacheBytes);
+		List<String> keys = new ArrayList<String>();
+		List<CPU<Process>> runs = cache == null ? cpus : findResults(cache, cpus, keys, streaming ? null : traces, fileNames, processFrames);
+		String tag = checkpointing ? checkpointTag(streaming ? null : traces, fileNames) : null;	//The tag matching checkpoints to the files
+		if (checkpoint != null) {
+			boolean stop = checkpointStop;
+			for (CPU<Process> cpu : cpus) {
+				String fileName = cpus.size() == 1 ? checkpoint : checkpoint + "." + cpu.getName();
+				cpu.setCheckpoints(checkpointEvery, running -> !(saveCheckpoint(running, tag, fileName) && stop));
+			}
+		}
+		if (resume != null)
+			resumeRun(cpus.get(0), streaming ? openFiles(fileNames, processFrames) : createProcesses(traces, processFrames), tag, resume);
+		else if (streaming)
+			new PolicyRunner(threads).run(runs, () -> openFiles(fileNames, processFrames));
+		else
+			new PolicyRunner(threads).run(runs, () -> createProcesses(traces, processFrames));
+		if (cache != null) {
+			for (int i = 0; i < cpus.size(); i++) {
+				if (runs.contains(cpus.get(i)) && keys.get(i) != null)
+					cache.put(keys.get(i), SimulationResult.of(cpus.get(i)));
+			}
+		}
+		List<CPU<Process>> finished = new ArrayList<CPU<Process>>();
+		for (CPU<Process> cpu : cpus) {
+			if (cpu.isFinished())
+				finished.add(cpu);
+			else
+				System.out.println(cpu.getName() + " stopped at time " + cpu.getCurrentTime() + " to be resumed from its checkpoint.");
+		}
+		print(finished, format);
+		if (metricsInterval >= 0)
+			printHistograms(finished);
+	}
+
+	/**
+	 * Method runOnline
+	 * Purpose:			Used to run the algorithms on references read from the input as they arrive, such as from a pipe
+	 * 					fed by a running program. A process is registered the first time its ID is read.
+	 * Postcondition:	Once the input ends, every process is closed and the results are output
+	 * @param frames the number of frames of main memory
+	 * @param quantum the time quantum for the round robin scheduling
+	 * @param maxProcesses the most processes read from the input
+	 * @param policies the replacement algorithms to run
+	 * @param allocation how the frames are allocated to the processes
+	 * @param metricsInterval the ticks between snapshots of the metrics, or -1 for none
+	 * @param format the format of the results
+	 */
+	private void runOnline(int frames, int quantum, int maxProcesses, List<String> policies, Allocation allocation, int metricsInterval, int format) {
+		List<OnlineSimulator> simulators = new ArrayList<OnlineSimulator>();
+		List<CPU<Process>> cpus = new ArrayList<CPU<Process>>();
+		if (metricsInterval >= 0)
+			System.err.println(MetricsSnapshot.HEADER);
+		for (String policy : policies) {
+			CPU<Process> cpu = Policies.create(policy, quantum);
+			cpu.setAllocation(allocation, frames);
+			if (metricsInterval >= 0)
+				cpu.setMetrics(new Metrics(metricsInterval, A3::printSnapshot));
+			simulators.add(new OnlineSimulator(cpu, allocation.isFixed() ? frames / maxProcesses : frames, maxProcesses));
+			cpus.add(cpu);
+		}
+		Set<Integer> registered = new HashSet<Integer>();
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(System.in), 1 << 16)) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] fields = line.trim().split("\\s+");
+				if (fields.length != 2)
+					continue;
+				int id = Integer.parseInt(fields[0]);
+				boolean end = fields[1].equals("end");
+				if (registered.add(id)) {
+					for (OnlineSimulator simulator : simulators)
+						simulator.register(id, "Process" + id);
+				}
+				for (OnlineSimulator simulator : simulators) {
+					if (end)
+						simulator.close(id);
+					else
+						simulator.push(id, Integer.parseInt(fields[1]));
+				}
+			}
+		}
+		catch (IOException e) {
+			System.out.println(e);
+		}
+		for (OnlineSimulator simulator : simulators)
+			simulator.finish();
+		print(cpus, format);
+		if (metricsInterval >= 0)
+			printHistograms(cpus);
+	}
+
+	/**
+	 * Method checkpointTag
+	 * Purpose:			Used to find the tag written with each checkpoint, so that a checkpoint is only resumed with the
+	 * 					files it was written for.
+	 * @param traces the loaded traces, or null if the files are streamed
+	 * @param fileNames the names of the files
+	 * @return the tag
+	 */
+	private String checkpointTag(List<ProcessTrace> traces, List<String> fileNames) {
+		try {
+			return traces == null ? ResultCache.fingerprintFiles(fileNames) : ResultCache.fingerprint(traces);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Method saveCheckpoint
+	 * Purpose:			Used to write the checkpoint of an algorithm, replacing its last checkpoint.
+	 * Postcondition:	The algorithm continues if the checkpoint cannot be written
+	 * @param cpu the CPU using the algorithm
+	 * @param tag the tag of the files
+	 * @param fileName the name of the checkpoint
+	 * @return true once the checkpoint is written
+	 */
+	private boolean saveCheckpoint(CPU<Process> cpu, String tag, String fileName) {
+		try {
+			Checkpoint.save(cpu, tag, fileName);
+			return true;
+		}
+		catch (IOException e) {
+			System.out.println(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Method resumeRun
+	 * Purpose:			Used to continue an algorithm from its checkpoint.
+	 * Postcondition:	The algorithm finishes, or stops at its next checkpoint if checkpoints are also written
+	 * @param cpu the CPU using the algorithm of the checkpoint
+	 * @param processes new processes of the files the checkpoint was written for
+	 * @param tag the tag of the files
+	 * @param fileName the name of the checkpoint
+	 */
+	private void resumeRun(CPU<Process> cpu, Queue<Process> processes, String tag, String fileName) {
+		try {
+			Checkpoint.restore(cpu, processes, tag, fileName);
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException("The checkpoint " + fileName + " cannot be resumed.", e);
+		}
+		cpu.resume();
+	}
+
+	/**
+	 * Method openCache
+	 * Purpose:			Used to open the directory of cached results.
+	 * Postcondition:	The algorithms run without a cache if the directory cannot be created
+	 * @param directory the directory
+	 * @param memoryEntries the most results held in memory
+	 * @param maxBytes the most bytes of results kept in the directory
+	 * @return the cache, or null if it cannot be opened
+	 */
+	private ResultCache openCache(String directory, int memoryEntries, long maxBytes) {
+		try {
+			return new ResultCache(memoryEntries, Path.of(directory), maxBytes);
+		}
+		catch (IOException e) {
+			System.out.println(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Method findResults
+	 * Purpose:			Used to give every CPU whose results are cached its results, so that it is not run.
+	 * Postcondition:	The key of every CPU is added to the keys, in the order of the CPUs
+	 * @param cache the cache
+	 * @param cpus the CPUs using each replacement algorithm
+	 * @param keys the list the keys are added to
+	 * @param traces the loaded traces, or null if the files are streamed
+	 * @param fileNames the names of the files
+	 * @param frames the amount of frames allocated to each process
+	 * @return the CPUs that still need to run
+	 */
+	private List<CPU<Process>> findResults(ResultCache cache, List<CPU<Process>> cpus, List<String> keys, List<ProcessTrace> traces,
+			List<String> fileNames, int frames) {
+		String fingerprint;
+		try {
+			fingerprint = traces == null ? ResultCache.fingerprintFiles(fileNames) : ResultCache.fingerprint(traces);
+		}
+		catch (IOException e) {
+			System.out.println(e);
+			fingerprint = null;
+		}
+		List<CPU<Process>> runs = new ArrayList<CPU<Process>>();
+		for (CPU<Process> cpu : cpus) {
+			String key = fingerprint == null ? null : ResultCache.key(fingerprint, cpu, frames, traces == null);
+			SimulationResult result = key == null ? null : cache.get(key);
+			if (result == null)
+				runs.add(cpu);
+			else
+				cpu.setResults(result.createProcesses());
+			keys.add(key);
+		}
+		return runs;
+	}
+
+	/**
+	 * Method printSnapshot
+	 * Purpose:			Used to write a snapshot of the metrics to the error stream, keeping the results on the output.
+	 * Postcondition:	The snapshot is written as one line, even when algorithms run at the same time
+	 * @param snapshot the snapshot
+	 */
+	private static void printSnapshot(MetricsSnapshot snapshot) {
+		synchronized (System.err) {
+			System.err.println(snapshot);
+		}
+	}
+
+	/**
+	 * Method printHistograms
+	 * Purpose:			Used to write the histograms of the metrics of every algorithm to the error stream.
+	 * @param cpus the CPUs using each replacement algorithm
+	 */
+	private void printHistograms(List<CPU<Process>> cpus) {
+		for (CPU<Process> cpu : cpus) {
+			Metrics metrics = cpu.getMetrics();
+			System.err.println(cpu.getName() + " ready depth " + metrics.getReadyDepth() + ", blocked depth " + metrics.getBlockedDepth()
+					+ ", references per dispatch " + metrics.getBurst() + String.format(" (mean %.2f)", metrics.getBurst().getMean()));
 		}
-		CPU<Process> cpuLRU = new CPULRU<Process>(quantum);
-		CPU<Process> cpuClock = new CPUClock<Process>(quantum);
-		cpuLRU.run(queue);
-		cpuClock.run(queue2);
-		print(cpuLRU, cpuClock);
 	}
 	
 	/**
 	 * Method print
 	 * Purpose:			Used to output the results to the console
-	 * Postcondition:	The results for both replacement algorithms are displayed
-	 * @param cpuLRU the CPU using the LRU algorithm
-	 * @param cpuClock the CPU using the clock algorithm
+	 * Postcondition:	The results for every replacement algorithm are streamed in the order they were run
+	 * @param cpus the CPUs using each replacement algorithm
+	 * @param format the format of the results
 	 */
-	private void print(CPU<Process> cpuLRU, CPU<Process> cpuClock) {
-		System.out.println(cpuLRU.toString());
-		System.out.println("-----------------------------------------------------------------------------------\n");
-		System.out.println(cpuClock.toString());
+	private void print(List<CPU<Process>> cpus, int format) {
+		ReportWriter report = new ReportWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16), format);
+		try {
+			for (CPU<Process> cpu : cpus)
+				report.write(cpu);
+			report.flush();
+		}
+		catch (IOException e) {
+			System.out.println(e);
+		}
+	}
+
+	/**
+	 * Method createProcesses
+	 * Purpose:			Used to create a new process for each loaded trace, so that each algorithm has its own processes.
+	 * Postcondition:	Returns a queue of processes sharing the references of the traces
+	 * @param traces the loaded traces
+	 * @param frames the amount of frames allocated to each process
+	 * @return the queue of processes
+	 */
+	private Queue<Process> createProcesses(List<ProcessTrace> traces, int frames) {
+		Queue<Process> queue = new ArrayDeque<Process>();
+		for (ProcessTrace trace : traces)
+			queue.add(trace.createProcess(frames));
+		return queue;
+	}
+
+	/**
+	 * Method openFiles
+	 * Purpose:			Used to open every file again for an algorithm, so that each algorithm streams its own processes.
+	 * Postcondition:	Returns a queue of streaming processes
+	 * @param fileNames the names of the files
+	 * @param frames the amount of frames allocated to each process
+	 * @return the queue of processes
+	 */
+	private Queue<Process> openFiles(List<String> fileNames, int frames) {
+		Queue<Process> queue = new ArrayDeque<Process>();
+		for (String fileName : fileNames)
+			queue.add(openFile(fileName, frames));
+		return queue;
 	}
 
 	/**
 	 * Method readFile
-	 * Purpose:			Used to read a file stated in an the argument. The information is used to form pages for a process.
-	 * Postcondition:	Pages are added and to a new process
+	 * Purpose:			Used to read a file stated in an the argument. The information is used to form the pages of a
+	 * 					process, which are shared by every replacement algorithm so the file is only read once. The file
+	 * 					may be in the text format or the binary trace format, which holds its own ID and name.
+	 * Postcondition:	The page numbers are read into a new trace
+	 * @param fileName the name of the file
+	 * @return the trace read
+	 */
+	ProcessTrace readFile(String fileName) {
+		int[] references = new int[0];
+		try {
+			if (BinaryTrace.isBinary(fileName))
+				return BinaryTrace.read(fileName);
+			references = TraceLoader.read(fileName);
+		}
+		catch (IOException e) {
+			System.out.println(e);
+		}
+		return new ProcessTrace(parseID(fileName), fileName, references);
+	}
+
+	/**
+	 * Method openFile
+	 * Purpose:			Used to open a file stated in an the argument so that its pages are read while the process runs.
+	 * 					Only a fixed number of pages are held in memory at once, so the file may be of any length. The
+	 * 					file may be in the text format or the binary trace format. The file is read through the shared
+	 * 					handles, so it is only open while the limit of open files allows.
+	 * Postcondition:	A new process streaming the file is created
 	 * @param fileName the name of the file
 	 * @param frames the amount of frames allocated to a process
 	 * @return the process created
 	 */
-	private Process readFile(String fileName, int frames) {
-		int id = Integer.parseInt(fileName.replaceAll("\\D", ""));
-		Process process = new Process(id, fileName, frames);
+	private Process openFile(String fileName, int frames) {
 		try {
-			File file = new File(fileName);
-			FileInputStream fis = new FileInputStream(file);
-			InputStreamReader isr = new InputStreamReader(fis);
-			BufferedReader br = new BufferedReader(isr);
-			
-			String line;
-			while(!(line = br.readLine()).equalsIgnoreCase("end")) {
-				if (line.matches(".*\\d.*")) {
-					Page page = new Page(Integer.parseInt(line));
-					process.addPage(page);
-				}
-			}			
-			br.close();
+			if (BinaryTrace.isBinary(fileName)) {
+				BinaryTraceSource source = new BinaryTraceSource(fileName, handles);
+				return new Process(source.getID(), source.getName(), frames, new StreamingTrace(source, READ_AHEAD));
+			}
+			return new Process(parseID(fileName), fileName, frames, new StreamingTrace(new TextTraceSource(fileName, handles), READ_AHEAD));
 		}
 		catch (IOException e) {
 			System.out.println(e);
+			return new Process(parseID(fileName), fileName, frames);
 		}
-		return process;
+	}
+
+	/**
+	 * Method parseID
+	 * Purpose:			Used to find the ID of a process from the digits in the name of its file. When the files come
+	 * 					from a directory or manifest, only the digits of the file name are used, as the digits of the
+	 * 					directories would be the same for every file.
+	 * Postcondition:	Returns the ID
+	 * @param fileName the name of the file
+	 * @return the ID of the process
+	 */
+	private int parseID(String fileName) {
+		String name = namedIDs ? Path.of(fileName).getFileName().toString() : fileName;
+		return Integer.parseInt(name.replaceAll("\\D", ""));
 	}
 }
\ No newline at end of file
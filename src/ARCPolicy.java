@@ -0,0 +1,182 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			ARCPolicy
+ * Purpose:			The Adaptive Replacement Cache (ARC) policy of Megiddo and Modha. The frames are split between a
+ * 					list of pages used once recently (T1) and a list of pages used at least twice (T2), each in LRU
+ * 					order. The pages replaced from each list are remembered in ghost lists (B1 and B2). A fault on a
+ * 					page in B1 grows the target size of T1 and a fault on a page in B2 shrinks it, so the policy adapts
+ * 					between recency and frequency, and a long scan only ever passes through T1 without flushing the
+ * 					pages in T2. Every operation is O(1).
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ARCPolicy implements ReplacementPolicy {
+	private static final int RECENT = 0;			//The list T1 of resident pages used once
+	private static final int FREQUENT = 1;			//The list T2 of resident pages used more than once
+	private static final int RECENT_GHOSTS = 2;		//The list B1 of pages replaced from T1
+	private static final int FREQUENT_GHOSTS = 3;	//The list B2 of pages replaced from T2
+	private int frames;								//The number of frames of the process
+	private int target;								//The target size of T1
+	private int[] pages;							//The page held in each frame
+	private NodeLists lists;						//The four lists, over the frame slots then the ghost entries
+	private GhostTable ghosts;						//The ghost entries of B1 and B2
+	private boolean promote;						//Whether the page being loaded was found in a ghost list
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frames of the process
+	 */
+	public ARCPolicy(int frames) {
+		this.frames = frames;
+		this.target = 0;
+		this.pages = new int[frames];
+		this.lists = new NodeLists(frames * 2, 4);
+		this.ghosts = new GhostTable(frames, frames);
+		this.promote = false;
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to move the frame holding a page that was just used to the front of T2.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	@Override
+	public void onHit(int slot) {
+		lists.moveToFirst(FREQUENT, slot);
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to move the frames used by a run of hits to the front of T2, in the order each was last used.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	@Override
+	public void onHits(int[] slots, int count, int cursor) {
+		lists.moveAllToFirst(FREQUENT, slots, 0, count, -1);
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to adapt the target size of T1 if the page was in a ghost list, then replace the least
+	 * 					recently used page of T1 or T2, remembering it in B1 or B2.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	@Override
+	public int chooseVictim(int page) {
+		int ghost = ghosts.find(page);
+		if (ghost >= 0) {
+			boolean frequent = lists.getList(ghost) == FREQUENT_GHOSTS;
+			int recentGhosts = lists.size(RECENT_GHOSTS);
+			int frequentGhosts = lists.size(FREQUENT_GHOSTS);
+			if (frequent)
+				target = Math.max(target - Math.max(recentGhosts / frequentGhosts, 1), 0);
+			else
+				target = Math.min(target + Math.max(frequentGhosts / recentGhosts, 1), frames);
+			forget(ghost);
+			promote = true;
+			return replace(frequent);
+		}
+		if (lists.size(RECENT) + lists.size(RECENT_GHOSTS) >= frames) {
+			if (lists.size(RECENT_GHOSTS) == 0) {										//B1 is empty, so the page is not remembered
+				int slot = lists.getLast(RECENT);
+				lists.remove(slot);
+				return slot;
+			}
+			forget(lists.getLast(RECENT_GHOSTS));
+		}
+		else if (ghosts.size() == frames)
+			forget(lists.getLast(FREQUENT_GHOSTS));
+		return replace(false);
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to put the frame a page was loaded into at the front of T2 if the page was remembered, or
+	 * 					the front of T1 if it was not.
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page loaded
+	 */
+	@Override
+	public void onFault(int slot, int page) {
+		int ghost = promote ? -1 : ghosts.find(page);						//Remembered but loaded into a free frame
+		if (ghost >= 0) {
+			forget(ghost);
+			promote = true;
+		}
+		pages[slot] = page;
+		lists.addFirst(promote ? FREQUENT : RECENT, slot);
+		promote = false;
+	}
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to take a freed frame out of T1 or T2 without remembering its page.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	@Override
+	public void onRemove(int slot) {
+		lists.remove(slot);
+	}
+
+	/**
+	 * Method replace
+	 * Purpose:			Used to replace the least recently used page of T1 if T1 is larger than its target, or of T2 if
+	 * 					it is not, and remember the page in the matching ghost list.
+	 * Parameters:		@param frequent whether the page that caused the fault was found in B2
+	 * Return:			@return the slot of the frame to replace
+	 */
+	private int replace(boolean frequent) {
+		int recent = lists.size(RECENT);
+		boolean fromRecent = recent > 0 && (recent > target || (frequent && recent == target) || lists.size(FREQUENT) == 0);
+		int slot = lists.getLast(fromRecent ? RECENT : FREQUENT);
+		lists.remove(slot);
+		lists.addFirst(fromRecent ? RECENT_GHOSTS : FREQUENT_GHOSTS, ghosts.add(pages[slot]));
+		return slot;
+	}
+
+	/**
+	 * Method forget
+	 * Purpose:			Used to remove a ghost entry from its list and the ghost table.
+	 * Parameters:		@param ghost the node of the entry
+	 */
+	private void forget(int ghost) {
+		lists.remove(ghost);
+		ghosts.remove(ghost);
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the target, the pages and the four lists to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		out.writeInt(target);
+		Checkpoint.writeInts(out, pages);
+		lists.writeState(out);
+		ghosts.writeState(out);
+		out.writeBoolean(promote);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the target, the pages and the four lists with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		target = in.readInt();
+		Checkpoint.readInts(in, pages);
+		lists.readState(in);
+		ghosts.readState(in);
+		promote = in.readBoolean();
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Class:			Allocation
+ * Purpose:			Describes how the frames of main memory are allocated to the processes. Fixed allocation splits the
+ * 					frames evenly and each process only replaces its own pages. The variable allocations share one pool
+ * 					of frames: global allocation lets a process replace any page in memory, working set allocation also
+ * 					frees the pages a process has not used within its last few references, and page fault frequency
+ * 					(PFF) allocation frees the pages a process has not used since its last fault whenever its faults
+ * 					are far apart.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Allocation {
+	public static final int FIXED = 0;						//Frames split evenly between the processes
+	public static final int GLOBAL = 1;						//One pool of frames replaced across the processes
+	public static final int WORKING_SET = 2;				//One pool, with each process keeping its working set
+	public static final int FAULT_FREQUENCY = 3;			//One pool, with each process shrunk when it rarely faults
+	private static final int DEFAULT_WINDOW = 10;			//The references in a working set unless given
+	private static final int DEFAULT_INTERVAL = 10;			//The references between faults that shrink a process unless given
+	private int kind;										//The kind of allocation
+	private int parameter;									//The working set window or fault interval
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param kind the kind of allocation
+	 * 				@param parameter the working set window or fault interval, ignored by the other kinds
+	 */
+	public Allocation(int kind, int parameter) {
+		if (kind < FIXED || kind > FAULT_FREQUENCY)
+			throw new IllegalArgumentException("Unknown allocation " + kind + ".");
+		if (parameter < 1)
+			throw new IllegalArgumentException("The allocation window must be at least one reference.");
+		this.kind = kind;
+		this.parameter = parameter;
+	}
+
+	/**
+	 * Method parse
+	 * Purpose:			Used to read an allocation from the command line, one of "fixed", "global", "ws" or "pff". The
+	 * 					working set window or fault interval can follow a colon, for example "ws:20".
+	 * Postcondition:	Returns the allocation
+	 * Parameters:		@param text the allocation
+	 * Return:			@return the allocation
+	 */
+	public static Allocation parse(String text) {
+		String[] parts = text.trim().toLowerCase().split(":", 2);
+		switch (parts[0]) {
+			case "fixed":
+				return new Allocation(FIXED, 1);
+			case "global":
+				return new Allocation(GLOBAL, 1);
+			case "ws":
+				return new Allocation(WORKING_SET, parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_WINDOW);
+			case "pff":
+				return new Allocation(FAULT_FREQUENCY, parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_INTERVAL);
+			default:
+				throw new IllegalArgumentException("Unknown allocation " + text + ". Choose from fixed, global, ws[:window] or pff[:interval].");
+		}
+	}
+
+	/**
+	 * Method isFixed
+	 * Purpose:			Used to determine whether each process has its own fixed share of the frames.
+	 * Return:			@return true for fixed allocation
+	 */
+	public boolean isFixed() {
+		return kind == FIXED;
+	}
+
+	/**
+	 * Method getKind
+	 * Purpose:			Used to return the kind of allocation.
+	 * Return:			@return one of FIXED, GLOBAL, WORKING_SET or FAULT_FREQUENCY
+	 */
+	public int getKind() {
+		return kind;
+	}
+
+	/**
+	 * Method getParameter
+	 * Purpose:			Used to return the working set window, or the fault interval for PFF allocation, in references
+	 * 					made by the process.
+	 * Return:			@return the window or interval
+	 */
+	public int getParameter() {
+		return parameter;
+	}
+
+	/**
+	 * Method toString
+	 * Purpose:			Used to convert the allocation into the name used in the report headings.
+	 * Return:			@return the name
+	 */
+	@Override
+	public String toString() {
+		switch (kind) {
+			case FIXED:
+				return "Fixed";
+			case GLOBAL:
+				return "Variable";
+			case WORKING_SET:
+				return "Variable (Working Set " + parameter + ")";
+			default:
+				return "Variable (PFF " + parameter + ")";
+		}
+	}
+}
@@ -0,0 +1,161 @@
+import java.util.Arrays;
+
+/**
+ * Class:			ArrayTrace
+ * Purpose:			The reference string of a process, stored as an array of page numbers with a cursor marking the next
+ * 					reference to execute. Executing a reference moves the cursor rather than removing an object, so the
+ * 					trace costs four bytes per reference.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ArrayTrace implements Trace {
+	private int[] references;			//The page numbers referenced, followed by unused space
+	private int length;					//The number of references in the trace
+	private int cursor;					//The position of the next reference to execute
+	private boolean shared;				//Whether the array belongs to a loaded trace and must be copied before adding
+
+	/**
+	 * Constructor with no parameters to initialize all variables.
+	 */
+	public ArrayTrace() {
+		this.references = new int[16];
+		this.length = 0;
+		this.cursor = 0;
+		this.shared = false;
+	}
+
+	/**
+	 * Constructor with parameters to execute the start of an array of references that may be shared with other
+	 * traces. The array is never changed, and is copied if a reference is added.
+	 * Parameters:	@param references the page numbers referenced
+	 * 				@param length the number of references from the start of the array to execute
+	 */
+	public ArrayTrace(int[] references, int length) {
+		if (length < 0 || length > references.length)
+			throw new IllegalArgumentException("Length " + length + " is outside an array of length " + references.length + ".");
+		this.references = references;
+		this.length = length;
+		this.cursor = 0;
+		this.shared = true;
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add a reference to the end of the trace.
+	 * Postcondition:	The array grows if it is full and the reference is added
+	 * Parameters:		@param page the page number referenced
+	 */
+	public void add(int page) {
+		if (shared || length == references.length) {
+			references = Arrays.copyOf(references, Math.max(length * 2, 16));
+			shared = false;
+		}
+		references[length++] = page;
+	}
+
+	/**
+	 * Method peek
+	 * Purpose:			Used to return the next reference to execute without moving the cursor.
+	 * Precondition:	The trace must not be empty.
+	 * Postcondition:	Returns the page number at the cursor
+	 * Return:			@return the next page number
+	 */
+	@Override
+	public int peek() {
+		if (cursor >= length)
+			throw new IllegalStateException("The trace has no references left.");
+		return references[cursor];
+	}
+
+	/**
+	 * Method advance
+	 * Purpose:			Used to move past the reference that was just executed.
+	 * Precondition:	The trace must not be empty.
+	 * Postcondition:	The cursor moves to the next reference
+	 */
+	@Override
+	public void advance() {
+		if (cursor >= length)
+			throw new IllegalStateException("The trace has no references left.");
+		cursor++;
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to return the reference at a position of the trace, whether or not it has been executed.
+	 * Postcondition:	Returns the page number
+	 * Parameters:		@param index the position of the reference
+	 * Return:			@return the page number
+	 */
+	@Override
+	public int get(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Index " + index + " is outside a trace of length " + length + ".");
+		return references[index];
+	}
+
+	/**
+	 * Method isEmpty
+	 * Purpose:			Used to determine whether every reference has been executed.
+	 * Postcondition:	Returns true if the cursor has reached the end
+	 * Return:			@return true if no references are left
+	 */
+	@Override
+	public boolean isEmpty() {
+		return cursor >= length;
+	}
+
+	/**
+	 * Method remaining
+	 * Purpose:			Used to return the number of references left to execute.
+	 * Postcondition:	Returns the number of references after the cursor
+	 * Return:			@return the references left
+	 */
+	@Override
+	public int remaining() {
+		return length - cursor;
+	}
+
+	/**
+	 * Method length
+	 * Purpose:			Used to return the number of references in the trace, including those already executed.
+	 * Postcondition:	Returns the length
+	 * Return:			@return the length
+	 */
+	@Override
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Method getCursor
+	 * Purpose:			Used to return the position of the next reference to execute.
+	 * Postcondition:	Returns the cursor
+	 * Return:			@return the cursor
+	 */
+	@Override
+	public int getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Method skip
+	 * Purpose:			Used to move the cursor past references without executing them.
+	 * Postcondition:	The cursor is moved forward by the count, or to the end if fewer are left
+	 * Parameters:		@param count the number of references to skip
+	 */
+	@Override
+	public void skip(int count) {
+		cursor = Math.min(length, cursor + Math.max(0, count));
+	}
+
+	/**
+	 * Method clear
+	 * Purpose:			Used to remove every reference from the trace.
+	 * Postcondition:	The trace is empty and the cursor is at the start. A shared array is left unchanged.
+	 */
+	public void clear() {
+		length = 0;
+		cursor = 0;
+	}
+}
@@ -0,0 +1,77 @@
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			BinaryTrace
+ * Purpose:			Describes the binary format for process traces and reads whole binary traces. A binary trace begins
+ * 					with a header of the magic bytes "PGTR", the format version, the flags, the process ID, the process
+ * 					name and the number of references. The references follow in blocks. Each block holds its number of
+ * 					references, its encoding, the length of its bytes and, if it is compressed, the length of its bytes
+ * 					once inflated. The references of a block are stored as the difference from the reference before,
+ * 					zigzag encoded so small negative differences stay small, in variable length bytes. Each block
+ * 					starts its differences from zero so it can be decoded on its own. A block of no references ends
+ * 					the trace.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class BinaryTrace {
+	public static final int MAGIC = 0x50475452;		//The bytes "PGTR" that begin every binary trace
+	public static final int VERSION = 1;			//The version of the format written
+	public static final int COMPRESSED = 1;			//The flag set when the blocks may be compressed
+	public static final int BLOCK_SIZE = 65536;		//The most references written in a block
+	public static final int PLAIN = 0;				//The encoding of a block stored as variable length bytes
+	public static final int DEFLATED = 1;			//The encoding of a block whose bytes are compressed with deflate
+
+	/**
+	 * Method isBinary
+	 * Purpose:			Used to determine whether a file holds a binary trace by checking its first bytes.
+	 * Postcondition:	Returns true if the file begins with the magic bytes
+	 * Parameters:		@param fileName the name of the file
+	 * Return:			@return true if the file is a binary trace
+	 * Throws:			@throws IOException if the file cannot be read
+	 */
+	public static boolean isBinary(String fileName) throws IOException {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+			return in.readInt() == MAGIC;
+		}
+		catch (EOFException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Method read
+	 * Purpose:			Used to read a whole binary trace into memory. The references are decoded straight into an array
+	 * 					sized from the header.
+	 * Postcondition:	Returns the trace with the ID and name stored in its header
+	 * Parameters:		@param fileName the name of the file
+	 * Return:			@return the trace read
+	 * Throws:			@throws IOException if the file cannot be read or is not a binary trace
+	 */
+	public static ProcessTrace read(String fileName) throws IOException {
+		try (BinaryTraceSource source = new BinaryTraceSource(fileName)) {
+			long length = source.getLength();
+			if (length > Integer.MAX_VALUE - 8)
+				throw new IOException(fileName + " holds too many references to read into memory.");
+			int[] references = new int[length >= 0 ? (int) length : 64];
+			int count = 0;
+			while (true) {
+				if (count == references.length) {
+					if (length >= 0)
+						break;
+					references = Arrays.copyOf(references, count * 2);			//The writer did not record the length
+				}
+				int read = source.read(references, count, references.length - count);
+				if (read < 0)
+					break;
+				count += read;
+			}
+			if (count != references.length)
+				references = Arrays.copyOf(references, count);
+			return new ProcessTrace(source.getID(), source.getName(), references);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Class:			BinaryTraceSource
+ * Purpose:			Reads the references of a binary trace a block at a time, decoding them straight into the array of
+ * 					the trace reading them. Only one block of the file is held in memory however long the trace is.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class BinaryTraceSource implements ReferenceSource {
+	private String fileName;				//The name of the file being read
+	private DataInputStream in;				//The stream reading the file, or null once it is closed
+	private int id;							//The process ID from the header
+	private String name;					//The process name from the header
+	private long length;					//The number of references from the header
+	private byte[] bytes;					//The encoded bytes of the block being decoded
+	private byte[] compressed;				//The compressed bytes of a block
+	private Inflater inflater;				//The decompressor, created when a compressed block is found
+	private int position;					//The position in the bytes of the next reference
+	private int blockLeft;					//The number of references left in the block
+	private int previous;					//The last reference decoded, which the next difference is added to
+	private boolean finished;				//Whether the block ending the trace was read
+
+	/**
+	 * Constructor with a parameter to open the file and read its header, holding it open until it has been read.
+	 * Parameters:	@param fileName the name of the file
+	 * Throws:		@throws IOException if the file cannot be read or is not a binary trace
+	 */
+	public BinaryTraceSource(String fileName) throws IOException {
+		this(fileName, new FileHandles(1));
+	}
+
+	/**
+	 * Constructor with parameters to read the header of the file through file handles shared with other sources,
+	 * which may close the file between blocks.
+	 * Parameters:	@param fileName the name of the file
+	 * 				@param handles the file handles
+	 * Throws:		@throws IOException if the file cannot be read or is not a binary trace
+	 */
+	public BinaryTraceSource(String fileName, FileHandles handles) throws IOException {
+		this.fileName = fileName;
+		this.in = new DataInputStream(new BufferedInputStream(handles.open(fileName), 1 << 16));
+		try {
+			if (in.readInt() != BinaryTrace.MAGIC)
+				throw new IOException(fileName + " is not a binary trace.");
+			int version = in.readUnsignedByte();
+			if (version != BinaryTrace.VERSION)
+				throw new IOException(fileName + " has binary trace version " + version + " which cannot be read.");
+			in.readUnsignedByte();
+			this.id = in.readInt();
+			this.name = in.readUTF();
+			this.length = in.readLong();
+		}
+		catch (IOException e) {
+			in.close();
+			throw e;
+		}
+		this.bytes = new byte[BinaryTrace.BLOCK_SIZE * 5];
+		this.blockLeft = 0;
+		this.finished = false;
+	}
+
+	/**
+	 * Method read
+	 * Purpose:			Used to decode the next references into an array.
+	 * Postcondition:	The next block is read whenever the block being decoded runs out.
+	 * Parameters:		@param pages the array receiving the page numbers
+	 * 					@param offset the position of the first page number to write
+	 * 					@param count the most page numbers to write
+	 * Return:			@return the number of page numbers read, or -1 if the trace has no more
+	 * Throws:			@throws IOException if the file cannot be read or is damaged
+	 */
+	@Override
+	public int read(int[] pages, int offset, int count) throws IOException {
+		int read = 0;
+		while (read < count) {
+			if (blockLeft == 0 && !readBlock())
+				break;
+			int decode = Math.min(count - read, blockLeft);
+			for (int i = 0; i < decode; i++) {
+				int zigzag = 0;
+				int shift = 0;
+				byte b;
+				do {
+					b = bytes[position++];
+					zigzag |= (b & 0x7F) << shift;
+					shift += 7;
+				} while (b < 0);
+				previous += (zigzag >>> 1) ^ -(zigzag & 1);
+				pages[offset + read++] = previous;
+			}
+			blockLeft -= decode;
+		}
+		return read == 0 && count > 0 ? -1 : read;
+	}
+
+	/**
+	 * Method readBlock
+	 * Purpose:			Used to read the next block of the file, inflating it if it is compressed.
+	 * Postcondition:	The bytes of the block are ready to decode, or the file is closed if the trace has ended
+	 * Return:			@return true if a block was read
+	 * Throws:			@throws IOException if the file cannot be read or is damaged
+	 */
+	private boolean readBlock() throws IOException {
+		if (finished)
+			return false;
+		int references = in.readInt();
+		if (references == 0) {
+			finished = true;
+			close();
+			return false;
+		}
+		int encoding = in.readUnsignedByte();
+		int size = in.readInt();
+		if (references < 0 || references > BinaryTrace.BLOCK_SIZE || size < 0 || size > bytes.length)
+			throw new IOException(fileName + " has a damaged block.");
+		if (encoding == BinaryTrace.PLAIN)
+			in.readFully(bytes, 0, size);
+		else if (encoding == BinaryTrace.DEFLATED) {
+			int inflated = in.readInt();
+			if (compressed == null || compressed.length < size)
+				compressed = new byte[Math.max(size, bytes.length)];
+			in.readFully(compressed, 0, size);
+			if (inflater == null)
+				inflater = new Inflater();
+			inflater.reset();
+			inflater.setInput(compressed, 0, size);
+			try {
+				if (inflated > bytes.length || inflater.inflate(bytes, 0, inflated) != inflated)
+					throw new IOException(fileName + " has a damaged compressed block.");
+			}
+			catch (DataFormatException e) {
+				throw new IOException(fileName + " has a damaged compressed block.", e);
+			}
+		}
+		else
+			throw new IOException(fileName + " has a block with unknown encoding " + encoding + ".");
+		position = 0;
+		previous = 0;
+		blockLeft = references;
+		return true;
+	}
+
+	/**
+	 * Method getID
+	 * Purpose:			Used to return the process ID stored in the header.
+	 * Postcondition:	Returns the ID
+	 * Return:			@return the ID
+	 */
+	public int getID() {
+		return id;
+	}
+
+	/**
+	 * Method getName
+	 * Purpose:			Used to return the process name stored in the header.
+	 * Postcondition:	Returns the name
+	 * Return:			@return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Method getLength
+	 * Purpose:			Used to return the number of references stored in the header.
+	 * Postcondition:	Returns the number of references, or -1 if the writer did not finish
+	 * Return:			@return the length
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Method close
+	 * Purpose:			Used to close the file.
+	 * Postcondition:	The file is closed if it was open
+	 * Throws:			@throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (in != null) {
+			in.close();
+			in = null;
+		}
+		if (inflater != null) {
+			inflater.end();
+			inflater = null;
+		}
+	}
+}
@@ -0,0 +1,155 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.zip.Deflater;
+
+/**
+ * Class:			BinaryTraceWriter
+ * Purpose:			Writes the references of a process to a file in the binary trace format described by BinaryTrace.
+ * 					References are buffered and written a block at a time, so a trace of any length can be written.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class BinaryTraceWriter implements TraceWriter {
+	private String fileName;				//The name of the file being written
+	private DataOutputStream out;			//The stream writing the file
+	private boolean compress;				//Whether blocks are compressed when it makes them smaller
+	private int[] block;					//The references of the block being filled
+	private int blockSize;					//The number of references in the block
+	private byte[] bytes;					//The encoded bytes of a block
+	private byte[] compressed;				//The compressed bytes of a block
+	private Deflater deflater;				//The compressor, or null if blocks are not compressed
+	private long length;					//The number of references written
+	private long lengthPosition;			//The position of the number of references in the header
+
+	/**
+	 * Constructor with parameters to create the file and write its header.
+	 * Parameters:	@param fileName the name of the file to write
+	 * 				@param id the ID of the process
+	 * 				@param name the name of the process
+	 * 				@param compress true to compress blocks when it makes them smaller
+	 * Throws:		@throws IOException if the file cannot be written
+	 */
+	public BinaryTraceWriter(String fileName, int id, String name, boolean compress) throws IOException {
+		this.fileName = fileName;
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+		this.compress = compress;
+		this.block = new int[BinaryTrace.BLOCK_SIZE];
+		this.blockSize = 0;
+		this.bytes = new byte[BinaryTrace.BLOCK_SIZE * 5];
+		this.compressed = compress ? new byte[bytes.length + 64] : null;
+		this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+		this.length = 0;
+		out.writeInt(BinaryTrace.MAGIC);
+		out.writeByte(BinaryTrace.VERSION);
+		out.writeByte(compress ? BinaryTrace.COMPRESSED : 0);
+		out.writeInt(id);
+		out.writeUTF(name);
+		this.lengthPosition = out.size();
+		out.writeLong(-1);
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add a reference to the end of the trace.
+	 * Postcondition:	The block is written once it is full
+	 * Parameters:		@param page the page number referenced
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	public void add(int page) throws IOException {
+		block[blockSize++] = page;
+		if (blockSize == block.length)
+			writeBlock();
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add references to the end of the trace.
+	 * Postcondition:	Blocks are written as they fill
+	 * Parameters:		@param pages the array of page numbers
+	 * 					@param offset the position of the first page number
+	 * 					@param count the number of page numbers to add
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	@Override
+	public void add(int[] pages, int offset, int count) throws IOException {
+		for (int i = 0; i < count; i++)
+			add(pages[offset + i]);
+	}
+
+	/**
+	 * Method close
+	 * Purpose:			Used to write the last block, the end of the trace and the number of references in the header.
+	 * Postcondition:	The file is complete and closed
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (out == null)
+			return;
+		if (blockSize > 0)
+			writeBlock();
+		out.writeInt(0);
+		out.close();
+		out = null;
+		if (deflater != null)
+			deflater.end();
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+			file.seek(lengthPosition);
+			file.writeLong(length);
+		}
+	}
+
+	/**
+	 * Method writeBlock
+	 * Purpose:			Used to encode and write the block being filled.
+	 * Postcondition:	The block is written, compressed if that made it smaller, and emptied
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	private void writeBlock() throws IOException {
+		int size = 0;
+		int previous = 0;
+		for (int i = 0; i < blockSize; i++) {
+			int delta = block[i] - previous;
+			previous = block[i];
+			int zigzag = (delta << 1) ^ (delta >> 31);
+			while ((zigzag & ~0x7F) != 0) {
+				bytes[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+				zigzag >>>= 7;
+			}
+			bytes[size++] = (byte) zigzag;
+		}
+		out.writeInt(blockSize);
+		int packed = compress ? deflate(size) : -1;
+		if (packed >= 0 && packed < size) {
+			out.writeByte(BinaryTrace.DEFLATED);
+			out.writeInt(packed);
+			out.writeInt(size);
+			out.write(compressed, 0, packed);
+		}
+		else {
+			out.writeByte(BinaryTrace.PLAIN);
+			out.writeInt(size);
+			out.write(bytes, 0, size);
+		}
+		length += blockSize;
+		blockSize = 0;
+	}
+
+	/**
+	 * Method deflate
+	 * Purpose:			Used to compress the encoded bytes of a block.
+	 * Postcondition:	The compressed bytes are held in the compressed array
+	 * Parameters:		@param size the number of encoded bytes
+	 * Return:			@return the number of compressed bytes, or -1 if they did not fit
+	 */
+	private int deflate(int size) {
+		deflater.reset();
+		deflater.setInput(bytes, 0, size);
+		deflater.finish();
+		int packed = deflater.deflate(compressed);
+		return deflater.finished() ? packed : -1;
+	}
+}
@@ -0,0 +1,172 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+/**
+ * Class:			BlockedQueue
+ * Purpose:			A timing wheel holding the processes that are waiting for a page to be swapped in. Each slot of the
+ * 					wheel holds the processes that become ready at the same time, so only the processes that are due
+ * 					are looked at when time advances. The wheel is sized from the swap time of the processes, which
+ * 					is the furthest in the future a blocked process can become ready.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ * Type Parameter:	@param <T> extends Process to use its ready time.
+ */
+public class BlockedQueue<T extends Process> implements Iterable<T> {
+	private ArrayDeque<T>[] slots;			//The slots of the wheel, indexed by ready time
+	private long time;						//The last time processes were released from the wheel
+	private int size;						//The number of blocked processes
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param swapTime the longest time a process can stay blocked
+	 */
+	@SuppressWarnings("unchecked")
+	public BlockedQueue(int swapTime) {
+		this.slots = (ArrayDeque<T>[]) new ArrayDeque<?>[swapTime + 1];
+		for (int i = 0; i < slots.length; i++)
+			slots[i] = new ArrayDeque<T>();
+		this.time = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to block a process until its ready time.
+	 * Precondition:	The ready time of the process must be after the last release and within the swap time of it.
+	 * Postcondition:	The process is placed behind any other processes that become ready at the same time.
+	 * Parameters:		@param process the process to block
+	 */
+	public void add(T process) {
+		long readyTime = process.getReadyTime();
+		if (readyTime <= time || readyTime - time >= slots.length)
+			throw new IllegalStateException("Process " + process.getID() + " is ready at " + readyTime + " which is outside the blocked queue at time " + time + ".");
+		slots[(int) (readyTime % slots.length)].add(process);
+		size++;
+	}
+
+	/**
+	 * Method release
+	 * Purpose:			Used to move the processes that become ready at the time given into the ready queue.
+	 * Postcondition:	The processes are added to the ready queue in the order they were blocked.
+	 * Parameters:		@param currentTime the current time of the simulation
+	 * 					@param readyQueue the queue receiving the processes
+	 */
+	public void release(long currentTime, Queue<T> readyQueue) {
+		time = currentTime;
+		ArrayDeque<T> slot = slots[(int) (currentTime % slots.length)];
+		while (!slot.isEmpty() && slot.peek().getReadyTime() == currentTime) {
+			readyQueue.add(slot.remove());
+			size--;
+		}
+	}
+
+	/**
+	 * Method nextReadyTime
+	 * Purpose:			Used to find the earliest time a blocked process becomes ready.
+	 * Precondition:	The queue must not be empty.
+	 * Postcondition:	Only the slots of the wheel are searched, not every blocked process.
+	 * Return:			@return the earliest ready time
+	 */
+	public long nextReadyTime() {
+		for (int i = 1; i <= slots.length; i++) {
+			ArrayDeque<T> slot = slots[(int) ((time + i) % slots.length)];
+			if (!slot.isEmpty())
+				return slot.peek().getReadyTime();
+		}
+		throw new NoSuchElementException("There are no blocked processes.");
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of blocked processes.
+	 * Postcondition:	Returns the number of blocked processes
+	 * Return:			@return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method isEmpty
+	 * Purpose:			Used to determine whether any processes are blocked.
+	 * Postcondition:	Returns true if no process is blocked
+	 * Return:			@return true if the queue is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Method iterator
+	 * Purpose:			Used to iterate over the blocked processes in the order they become ready.
+	 * Postcondition:	Returns an iterator that does not support removal
+	 * Return:			@return the iterator
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int slot = 1;								//The slot after the last release being visited
+			private Iterator<T> current = slots[(int) ((time + 1) % slots.length)].iterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!current.hasNext() && slot < slots.length) {
+					slot++;
+					current = slots[(int) ((time + slot) % slots.length)].iterator();
+				}
+				return current.hasNext();
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return current.next();
+			}
+		};
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the wheel to a checkpoint, naming each process by its position in a list.
+	 * Parameters:		@param out the stream to write
+	 * 					@param indexes the position of each process in the list of every process
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public void writeState(DataOutputStream out, Map<Process, Integer> indexes) throws IOException {
+		out.writeLong(time);
+		out.writeInt(slots.length);
+		for (ArrayDeque<T> slot : slots) {
+			out.writeInt(slot.size());
+			for (T process : slot)
+				out.writeInt(indexes.get(process));
+		}
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the wheel with one read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * 					@param processes the list of every process, in the order used when the wheel was written
+	 * Throws:			@throws IOException if the stream cannot be read or the wheel is a different size
+	 */
+	public void readState(DataInputStream in, List<T> processes) throws IOException {
+		time = in.readLong();
+		Checkpoint.expect(in.readInt(), slots.length, "slots in the blocked queue");
+		size = 0;
+		for (ArrayDeque<T> slot : slots) {
+			slot.clear();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++)
+				slot.add(processes.get(in.readInt()));
+			size += count;
+		}
+	}
+}
@@ -1,22 +1,47 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.function.Predicate;
 
 /**
  * Class:			Schedule
  * Purpose:			Abstract class that other processors can inherit from to use different replacement algorithms.
+ * 					Times are long, so a simulation of billions of references, each taking at least a tick, cannot
+ * 					run out of time.
  * Student Name:	Sean Crocker
  * Student Number:	3307768
  * Type Parameter:	@param <T> extends Process to its functions
  */
 public abstract class CPU <T extends Process> {
+	private static final int RUN_LIMIT = 4096;	//The most hits given to a replacement algorithm at once
 	protected int quantum;					//The fixed time quantum used for round robin scheduling
-	protected Queue<T> readyQueue;			//The ready queue of processes
-	protected Queue<T> blockedQueue;		//The queue of blocked processes
+	protected ReadyQueue<T> readyQueue;		//The ready queue of processes, ordered for round robin scheduling
+	protected BlockedQueue<T> blockedQueue;	//The timing wheel of blocked processes
 	protected Queue<T> finishedQueue;		//The queue of all finished processes
 	protected Queue<T> runningQueue;		//A queue for processes in main memory
-	protected int currentTime;				//The current time of the simulation
+	protected long currentTime;				//The current time of the simulation
 	protected int processCount;				//The number of processes
+	protected boolean eventDriven;			//Whether idle time is skipped instead of stepped one tick at a time
+	protected Allocation allocation;		//How the frames of main memory are allocated to the processes
+	protected int poolFrames;				//The frames shared by the processes for variable allocation
+	protected FramePool pool;				//The frames shared by the processes, or null for fixed allocation
+	protected Metrics metrics;				//Counts what happens during the simulation, or null when not measured
+	protected boolean batched;				//Whether runs of hits are executed together rather than one loop at a time
+	private int[] runSlots;					//The slots used by the run of hits being executed
+	private List<T> processes;				//Every process run, in the order they were given
+	private ReadyQueue<T> arrivals;			//The processes given but not yet dispatched for the first time
+	private int checkpointInterval;			//The ticks between checkpoints
+	private long nextCheckpoint;			//The time of the next checkpoint
+	private Predicate<CPU<T>> checkpointListener;	//Called at each checkpoint, or null for none
 	
 	/**
 	 * Constructor with a parameter to initialize all variables.
@@ -25,117 +50,519 @@ public abstract class CPU <T extends Process> {
 	public CPU(int quantum) {
 		this.quantum = quantum;
 		this.processCount = 0;
-		this.readyQueue = new ArrayDeque<T>();
-		this.blockedQueue = new ArrayDeque<T>();
+		this.eventDriven = false;
+		this.batched = true;
+		this.runSlots = new int[RUN_LIMIT];
+		this.allocation = new Allocation(Allocation.FIXED, 1);
+		this.readyQueue = new ReadyQueue<T>();
 		this.finishedQueue = new ArrayDeque<T>();
 		this.runningQueue = new ArrayDeque<T>();
 	}
 	
-	public abstract String toString();					//Converts the object to a string and returns the results
-	
-	protected abstract void operateReadyQueue();		//Uses the ready queue and the associated replacement algorithm
+	public abstract String getName();									//Returns the name of the replacement algorithm
+
+	protected abstract ReplacementPolicy createPolicy(int frames);		//Creates the replacement algorithm for some frames
+
+	/**
+	 * Method createPolicy
+	 * Purpose:			Used to create the replacement algorithm for the frames of a process under fixed allocation.
+	 * Parameters:		@param process the process
+	 * Return:			@return the policy
+	 */
+	protected ReplacementPolicy createPolicy(T process) {
+		return createPolicy(process.getFrames().length);
+	}
+
+	/**
+	 * Method toString
+	 * Purpose:			Used to convert the object into a string and return the result.
+	 * Precondition:	The CPU must finish running and successfully add processes to the finished queue
+	 * Postcondition:	The object is converted into a string and the result is returned.
+	 * Return:			The object converted into a string
+	 */
+	@Override
+	public String toString() {
+		StringWriter results = new StringWriter();
+		try {
+			new ReportWriter(results, ReportWriter.TABLE).writeTable(this);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return results.toString();
+	}
+
+	/**
+	 * Method getResults
+	 * Purpose:			Used to return the finished processes in the order of their IDs, for the reports.
+	 * Precondition:	The CPU must finish running and successfully add processes to the finished queue
+	 * Postcondition:	The finished queue is sorted by ID
+	 * Return:			@return the finished processes in ID order
+	 */
+	public List<T> getResults() {
+		finishedQueue = sortQueue();
+		return new ArrayList<T>(finishedQueue);
+	}
+
+	/**
+	 * Method setResults
+	 * Purpose:			Used to give the CPU the finished processes of a run that was not simulated, such as results found
+	 * 					in a cache, so they can be reported as if the CPU had run.
+	 * Precondition:	The CPU must not be run
+	 * Postcondition:	The processes are the finished processes of the CPU
+	 * Parameters:		@param processes the finished processes
+	 */
+	public void setResults(Queue<T> processes) {
+		this.processCount = processes.size();
+		this.finishedQueue = new ArrayDeque<T>(processes);
+	}
+
+	/**
+	 * Method getQuantum
+	 * Purpose:			Used to return the time quantum for scheduling.
+	 * Return:			@return the time quantum
+	 */
+	public int getQuantum() {
+		return quantum;
+	}
+
+	/**
+	 * Method setQuantum
+	 * Purpose:			Used to change the time quantum for scheduling, such as before resuming a checkpoint to see how
+	 * 					the rest of the run differs with another quantum.
+	 * Parameters:		@param quantum the time quantum
+	 */
+	public void setQuantum(int quantum) {
+		this.quantum = quantum;
+	}
+
+	/**
+	 * Method getCurrentTime
+	 * Purpose:			Used to return the current time of the simulation.
+	 * Return:			@return the current time
+	 */
+	public long getCurrentTime() {
+		return currentTime;
+	}
+
+	/**
+	 * Method isFinished
+	 * Purpose:			Used to determine whether every process has finished, as a run stopped at a checkpoint has not.
+	 * Return:			@return true if every process has finished
+	 */
+	public boolean isFinished() {
+		return finishedQueue.size() >= processCount;
+	}
+
+	/**
+	 * Method setCheckpoints
+	 * Purpose:			Used to be called back at regular times during the simulation, such as to save a checkpoint.
+	 * Postcondition:	The listener is called between two ticks once the interval has passed since the start or the
+	 * 					last checkpoint. As a run of hits is executed in one step, a checkpoint can come a little late.
+	 * 					The simulation stops, unfinished, if the listener returns false, and can be resumed later.
+	 * Parameters:		@param interval the ticks between checkpoints
+	 * 					@param listener the listener, returning true to continue, or null for no checkpoints
+	 */
+	public void setCheckpoints(int interval, Predicate<CPU<T>> listener) {
+		if (listener != null && interval < 1)
+			throw new IllegalArgumentException("The interval between checkpoints must be at least one tick.");
+		this.checkpointInterval = interval;
+		this.checkpointListener = listener;
+		this.nextCheckpoint = currentTime + interval;
+	}
+
+	/**
+	 * Method getAllocation
+	 * Purpose:			Used to return how the frames of main memory are allocated to the processes.
+	 * Return:			@return the allocation
+	 */
+	public Allocation getAllocation() {
+		return allocation;
+	}
 	
+	/**
+	 * Method setEventDriven
+	 * Purpose:			Used to choose between the tick by tick simulation and the discrete event simulation.
+	 * Postcondition:	When enabled, the simulation jumps straight to the next time a blocked process becomes ready
+	 * 					whenever there is nothing to run. The results are identical in both modes.
+	 * Parameters:		@param eventDriven true to skip idle time
+	 */
+	public void setEventDriven(boolean eventDriven) {
+		this.eventDriven = eventDriven;
+	}
+
+	/**
+	 * Method setBatched
+	 * Purpose:			Used to choose whether a running process executes its hits together in one step.
+	 * Postcondition:	When enabled, a running process executes every reference it finds in memory, up to its time
+	 * 					quantum, without returning to the main loop, and its replacement algorithm is told of the hits
+	 * 					together. The results are identical either way.
+	 * Parameters:		@param batched true to execute runs of hits together
+	 */
+	public void setBatched(boolean batched) {
+		this.batched = batched;
+	}
+
+	/**
+	 * Method setAllocation
+	 * Purpose:			Used to choose how the frames of main memory are allocated to the processes.
+	 * Postcondition:	For variable allocation, the processes share one pool of frames and each process must have been
+	 * 					created with as many frames as the pool, so any frame of the pool can hold its pages.
+	 * Parameters:		@param allocation the allocation
+	 * 					@param frames the total frames of main memory, used for variable allocation
+	 */
+	public void setAllocation(Allocation allocation, int frames) {
+		this.allocation = allocation;
+		this.poolFrames = frames;
+	}
+
+	/**
+	 * Method setMetrics
+	 * Purpose:			Used to count what happens during the simulation, such as faults, dispatches and idle time.
+	 * Postcondition:	The metrics are named after the replacement algorithm. Without metrics each point of the
+	 * 					simulation only tests the field, so the results and the speed are unchanged.
+	 * Parameters:		@param metrics the metrics, or null to stop counting
+	 */
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+		if (metrics != null)
+			metrics.setPolicy(getName());
+	}
+
+	/**
+	 * Method getMetrics
+	 * Purpose:			Used to return the metrics of the simulation.
+	 * Return:			@return the metrics, or null when not measured
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
 	/**
 	 * Method run
 	 * Purpose:			Used to begin using the simulation with the processes received.
 	 * Postcondition:	The processes all attempt to run but are all faced with page faults as the instructions in the
-	 * 					memory is not yet defined.
+	 * 					memory is not yet defined. The queue of processes is emptied.
 	 * Parameters:		@param processes the queue of processes gained from the driver class
 	 */
 	public void run(Queue<T> processes) {
-		this.processCount = processes.size();
-		while (!processes.isEmpty()) {
-			T process = getNext(processes);
-			if (processes.remove(process))
-				execute(process);
-		}
+		admit(processes);
+		for (T process : this.processes)
+			arrivals.add(process);
+		dispatchArrivals();
 		start();
+		if (metrics != null && isFinished())
+			metrics.finish(currentTime + 1);
 	}
 
 	/**
-	 * Method sortQueue
-	 * Purpose:			Used to sort the queue containing the finished processes by iterating through it and finding the
-	 * 					process with the lowest identification number.
-	 * Precondition:	The processes must have finished the simulation
-	 * Postcondition:	The new queue is used to convert the object to a string for the toString method.
-	 * Return:			@return the sorted queue
+	 * Method resume
+	 * Purpose:			Used to continue a simulation that stopped at a checkpoint or was read from one.
+	 * Precondition:	The CPU must have been run and stopped by its checkpoint listener, or restored from a checkpoint.
+	 * Postcondition:	The simulation runs until completion, or the next time the checkpoint listener stops it
 	 */
-	protected Queue<T> sortQueue() {
-		Queue<T> newQueue = new ArrayDeque<T>();
-		while (!finishedQueue.isEmpty()) {
-			T first = null;
-			Iterator<T> iter = finishedQueue.iterator();
-			while (iter.hasNext()) {
-				T current = iter.next();
-				if (first == null)
-					first = current;
-				else if (current.getID() < first.getID())
-					first = current;
-			}
-			finishedQueue.remove(first);
-			newQueue.add(first);
-		}
-		return newQueue;
+	public void resume() {
+		if (processes == null)
+			throw new IllegalStateException("Only a run that was started or restored can be resumed.");
+		nextCheckpoint = currentTime + checkpointInterval;
+		start();
+		if (metrics != null && isFinished())
+			metrics.finish(currentTime + 1);
 	}
-	
+
 	/**
-	 * Method update
-	 * Purpose:			Used to update the pointer for the clock policy.
-	 * Postcondition:	Updates the pointer and the use bits for the clock policy.
-	 * Parameters:		@param process the process with the frames allocated to it
-	 * 					@param pointer the pointer for the clock
-	 * 					@param instruction the instruction for the paging
-	 * Return:			@return the pointer
+	 * Method admit
+	 * Purpose:			Used to prepare the queues, frames and replacement algorithms for the processes received.
+	 * Postcondition:	Every process has its replacement algorithm or has been added to the pool, in the order given,
+	 * 					and the queue of processes is emptied
+	 * Parameters:		@param processes the queue of processes
 	 */
-	protected int update(T process, int pointer, int instruction) {
-		while (true) {
-			if (!process.getFrames()[pointer].isUseBit()) {
-				process.getFrames()[pointer] = new Frame(instruction);
-				return (pointer + 1) % process.getFrames().length;
-			}
-			process.getFrames()[pointer].setUseBit(false);
-			pointer = (pointer + 1) % process.getFrames().length;
+	private void admit(Queue<T> processes) {
+		this.processCount = processes.size();
+		if (!processes.isEmpty())
+			this.blockedQueue = new BlockedQueue<T>(processes.peek().getSwapTime());
+		this.pool = allocation.isFixed() ? null : new FramePool(allocation, poolFrames, processCount, createPolicy(poolFrames));
+		this.processes = new ArrayList<T>(processes);
+		this.arrivals = new ReadyQueue<T>();
+		for (T process : this.processes) {
+			if (pool == null)
+				process.setPolicy(createPolicy(process));
+			else
+				pool.add(process);
 		}
+		processes.clear();
 	}
 
 	/**
-	 * Method hasInstruction
-	 * Purpose:			Used to determine whether the frames allocated contain the next paging instruction.
-	 * Postcondition:	If the instruction is found within the frames then the function returns true
-	 * Parameters:		@param process the process being tested
-	 * 					@param instruction the instruction being looked for
-	 * Return:			@return true if the instruction is found
-	 */
-	protected boolean hasInstruction(T process, int instruction) {
-		for (int i = 0; i < process.getFrames().length; i++) {
-			if (process.getFrames()[i].getValue() == instruction) {
-				process.getFrames()[i].setUseBit(true);
-				return true;
-			}
+	 * Method open
+	 * Purpose:			Used to begin a simulation that processes join while it runs, rather than all at the start, such
+	 * 					as processes whose references arrive from a running program.
+	 * Precondition:	The CPU must not have been run.
+	 * Postcondition:	The simulation is at time zero with no processes, and is moved forward by step
+	 * Parameters:		@param maxProcesses the most processes that will be added, used to size the pool of frames for
+	 * 					variable allocation
+	 */
+	public void open(int maxProcesses) {
+		if (processes != null)
+			throw new IllegalStateException("The CPU has already been run.");
+		this.processCount = 0;
+		this.pool = allocation.isFixed() ? null : new FramePool(allocation, poolFrames, maxProcesses, createPolicy(poolFrames));
+		this.processes = new ArrayList<T>();
+		this.arrivals = new ReadyQueue<T>();
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add a process to a simulation begun by open.
+	 * Postcondition:	The process is given its replacement algorithm, or added to the pool, and is dispatched for the
+	 * 					first time by the next step. Processes added before the first step are dispatched in the order
+	 * 					of run, so they are simulated exactly as if they had been run together.
+	 * Parameters:		@param process the process
+	 */
+	public void add(T process) {
+		if (processes == null)
+			throw new IllegalStateException("The CPU must be opened before processes are added.");
+		if (blockedQueue == null)
+			blockedQueue = new BlockedQueue<T>(process.getSwapTime());
+		if (pool == null)
+			process.setPolicy(createPolicy(process));
+		else
+			pool.add(process);
+		processes.add(process);
+		processCount++;
+		arrivals.add(process);
+	}
+
+	/**
+	 * Method step
+	 * Purpose:			Used to move a simulation begun by open forward by the smallest step.
+	 * Postcondition:	The processes added since the last step are dispatched, or if there are none, the next tick is
+	 * 					simulated. Unless runs of hits are batched, each process executes at most one reference, and
+	 * 					looks at most one reference beyond it.
+	 * Return:			@return false if every process has finished, so there was nothing to do
+	 */
+	public boolean step() {
+		if (!arrivals.isEmpty())
+			dispatchArrivals();
+		else if (isFinished())
+			return false;
+		else
+			tick();
+		return true;
+	}
+
+	/**
+	 * Method dispatchArrivals
+	 * Purpose:			Used to dispatch the processes that have not yet run, in the order of the ready queue, at the
+	 * 					current time.
+	 * Postcondition:	Each process faults on its first page, unless its page was loaded by another process
+	 */
+	private void dispatchArrivals() {
+		while (!arrivals.isEmpty()) {
+			T process = arrivals.poll();
+			if (metrics != null)
+				metrics.onDispatch(process, currentTime, arrivals.size());
+			execute(process);
 		}
-		return false;
 	}
 
+	/**
+	 * Method writeCheckpoint
+	 * Purpose:			Used to write the state of the simulation, so that it can be resumed from this point. Each
+	 * 					process is named by the order it was given to the run. The metrics are not written.
+	 * Precondition:	The CPU must be between two ticks, such as when its checkpoint listener is called.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public void writeCheckpoint(DataOutputStream out) throws IOException {
+		if (processes == null)
+			throw new IllegalStateException("Only a run that was started can be checkpointed.");
+		Map<Process, Integer> indexes = new IdentityHashMap<Process, Integer>();
+		for (int i = 0; i < processes.size(); i++)
+			indexes.put(processes.get(i), i);
+		out.writeInt(processCount);
+		out.writeInt(allocation.getKind());
+		out.writeInt(allocation.getParameter());
+		out.writeInt(pool == null ? 0 : poolFrames);
+		out.writeLong(currentTime);
+		for (T process : processes)
+			process.writeState(out);
+		if (pool != null)
+			pool.writeState(out);
+		readyQueue.writeState(out, indexes);
+		out.writeBoolean(blockedQueue != null);
+		if (blockedQueue != null)
+			blockedQueue.writeState(out, indexes);
+		writeQueue(out, runningQueue, indexes);
+		writeQueue(out, finishedQueue, indexes);
+	}
+
+	/**
+	 * Method readCheckpoint
+	 * Purpose:			Used to replace the state of the simulation with the state read from a checkpoint, to be resumed.
+	 * Precondition:	The CPU must not have been run and must have the allocation the checkpoint was written with.
+	 * 					The processes must be new processes of the same traces and frames, in the same order.
+	 * Postcondition:	The processes are prepared as if run, then given the state read. The queue is emptied.
+	 * Parameters:		@param processes the queue of processes
+	 * 					@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match the CPU or processes
+	 */
+	public void readCheckpoint(Queue<T> processes, DataInputStream in) throws IOException {
+		admit(processes);
+		Checkpoint.expect(in.readInt(), processCount, "processes");
+		if (in.readInt() != allocation.getKind() || in.readInt() != allocation.getParameter() || in.readInt() != (pool == null ? 0 : poolFrames))
+			throw new IOException("The checkpoint was written with a different allocation.");
+		currentTime = in.readLong();
+		for (T process : this.processes)
+			process.readState(in);
+		if (pool != null)
+			pool.readState(in);
+		readyQueue.readState(in, this.processes);
+		if (in.readBoolean() != (blockedQueue != null))
+			throw new IOException("The checkpoint was written with different processes.");
+		if (blockedQueue != null)
+			blockedQueue.readState(in, this.processes);
+		readQueue(in, runningQueue);
+		readQueue(in, finishedQueue);
+	}
+
+	/**
+	 * Method writeQueue
+	 * Purpose:			Used to write a queue of processes in order, naming each by its position in the run.
+	 * Parameters:		@param out the stream to write
+	 * 					@param queue the queue
+	 * 					@param indexes the position of each process
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	private void writeQueue(DataOutputStream out, Queue<T> queue, Map<Process, Integer> indexes) throws IOException {
+		out.writeInt(queue.size());
+		for (T process : queue)
+			out.writeInt(indexes.get(process));
+	}
+
+	/**
+	 * Method readQueue
+	 * Purpose:			Used to replace a queue of processes with one read in order.
+	 * Parameters:		@param in the stream to read
+	 * 					@param queue the queue
+	 * Throws:			@throws IOException if the stream cannot be read
+	 */
+	private void readQueue(DataInputStream in, Queue<T> queue) throws IOException {
+		queue.clear();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++)
+			queue.add(processes.get(in.readInt()));
+	}
+
+	/**
+	 * Method sortQueue
+	 * Purpose:			Used to sort the queue containing the finished processes by their identification numbers with one
+	 * 					merge sort, keeping processes with the same number in the order they finished.
+	 * Precondition:	The processes must have finished the simulation
+	 * Postcondition:	The new queue is used to write the results in order.
+	 * Return:			@return the sorted queue
+	 */
+	protected Queue<T> sortQueue() {
+		List<T> sorted = new ArrayList<T>(finishedQueue);
+		sorted.sort((first, second) -> Integer.compare(first.getID(), second.getID()));
+		return new ArrayDeque<T>(sorted);
+	}
+	
 	/**
 	 * Method start
 	 * Purpose:			Used to begin the rest of the simulation after the processes were originally run by the run function.
 	 * 					This function continues until all processes are added to the finished queue.
 	 * Precondition:	The run function must call this function.
-	 * Postcondition:	The simulation runs until completion.
+	 * Postcondition:	The simulation runs until completion, or until the checkpoint listener stops it.
 	 */
 	protected void start() {
 		while(finishedQueue.size() < processCount) {
-			currentTime++;
-			operateBlockedQueue();
-			if (!runningQueue.isEmpty())
-				execute(runningQueue.remove());
-			else if (!readyQueue.isEmpty())
-				operateReadyQueue();
-			else
-				continue;
+			if (checkpointListener != null && currentTime >= nextCheckpoint) {
+				nextCheckpoint = currentTime + checkpointInterval;
+				if (!checkpointListener.test(this))
+					return;
+			}
+			tick();
 		}
 	}
+
+	/**
+	 * Method tick
+	 * Purpose:			Used to simulate one tick, or the idle time up to the next tick something can happen when idle
+	 * 					time is skipped.
+	 * Postcondition:	The blocked processes due are released and the running or next ready process is executed
+	 */
+	private void tick() {
+		if (eventDriven && runningQueue.isEmpty() && readyQueue.isEmpty()) {
+			long next = nextEventTime();
+			if (metrics != null)
+				metrics.onIdle(next - currentTime - 1);
+			currentTime = next - 1;
+		}
+		currentTime++;
+		operateBlockedQueue();
+		if (metrics != null)
+			measureTick();
+		if (!runningQueue.isEmpty())
+			executeRun(runningQueue.remove());
+		else if (!readyQueue.isEmpty())
+			operateReadyQueue();
+	}
 	
+	/**
+	 * Method measureTick
+	 * Purpose:			Used to give the metrics the queue depths of a tick, or count the tick as idle if nothing can run.
+	 * Precondition:	The CPU must have metrics.
+	 */
+	private void measureTick() {
+		if (runningQueue.isEmpty() && readyQueue.isEmpty())
+			metrics.onIdle(1);
+		else
+			metrics.onTick(currentTime, readyQueue.size(), blockedQueue.size(), 1);
+	}
+
+	/**
+	 * Method nextEventTime
+	 * Purpose:			Used to find the next time something can happen while no process is running or ready.
+	 * Precondition:	The running and ready queues must be empty.
+	 * Postcondition:	Returns the earliest ready time of the blocked processes, or the next tick if none are blocked.
+	 * Return:			@return the time of the next event
+	 */
+	protected long nextEventTime() {
+		return blockedQueue.isEmpty() ? currentTime + 1 : blockedQueue.nextReadyTime();
+	}
+
+	/**
+	 * Method operateReadyQueue
+	 * Purpose:			Use the ready queue with the assistance of the replacement algorithm of the next process, or of
+	 * 					the pool of frames for variable allocation.
+	 * Postcondition:	If the page is not in the memory it is loaded into a free frame, or if there was no space in the
+	 * 					memory allocation, the frame the replacement algorithm chooses. The process then executes the page.
+	 */
+	protected void operateReadyQueue() {
+		T process = readyQueue.poll();
+		if (process == null)
+			return;
+		if (metrics != null)
+			metrics.onDispatch(process, currentTime, readyQueue.size());
+		int instruction = process.getTrace().peek();
+		if (process.findFrame(instruction) >= 0) {
+			execute(process);
+			return;
+		}
+		if (pool != null)
+			pool.load(process, instruction);
+		else {
+			ReplacementPolicy policy = process.getPolicy();
+			int slot = isFull(process) ? policy.chooseVictim(instruction) : process.getResidentCount();
+			process.loadPage(slot, instruction);
+			policy.onFault(slot, instruction);
+		}
+		if (metrics != null)
+			metrics.onLoad();
+		proceed(process);
+	}
+
 	/**
 	 * Method isFull
 	 * Purpose:			Used to determine whether or not the allocated frames to a process are completely filled with pages.
@@ -144,11 +571,7 @@ public abstract class CPU <T extends Process> {
 	 * Return:			@return true if there is no free space in the memory allocation
 	 */
 	protected boolean isFull(T process) {
-		for (int i = 0; i < process.getFrames().length; i++) {
-			if (process.getFrames()[i] == null || process.getFrames()[i].getValue() == 0)
-				return false;
-		}
-		return true;
+		return process.isFull();
 	}
 		
 	/**
@@ -156,17 +579,11 @@ public abstract class CPU <T extends Process> {
 	 * Purpose:			Used to operate on the queue of blocked processes to determine if any
 	 * 					can be moved to the ready queue.
 	 * Postcondition:	If a process within the queue has a ready time matching the current time then the
-	 * 					process is transported to the ready queue.
+	 * 					process is transported to the ready queue. Only the processes due at the current time are visited.
 	 */
 	protected void operateBlockedQueue() {
-		Iterator<T> iter = blockedQueue.iterator();
-		while (iter.hasNext()) {
-			T process = iter.next();
-			if (currentTime == process.getReadyTime() && currentTime != 0) {
-				blockedQueue.remove(process);
-				readyQueue.add(process);
-			}
-		}
+		if (currentTime != 0)
+			blockedQueue.release(currentTime, readyQueue);
 	}
 
 	/**
@@ -177,8 +594,11 @@ public abstract class CPU <T extends Process> {
 	 * Parameters:		@param process the process being executed
 	 */
 	protected void execute(T process) {
-		if (!check(process.getPages().peek().getInstruction(), process.getFrames())) {				//If page is not in memory
+		int slot = process.findFrame(process.getTrace().peek());
+		if (slot < 0) {																				//If page is not in memory
 			process.getFaultTimes().add(currentTime);												//Add page fault
+			if (metrics != null)
+				metrics.onFault(process, process.getTrace().peek(), currentTime);
 			process.setExitTime(currentTime);
 			process.setReadyTime(currentTime);
 			process.setRunningTime(0);
@@ -186,25 +606,162 @@ public abstract class CPU <T extends Process> {
 			operateReadyQueue();
 		}
 		else {
-			process.setRunningTime(process.getRunningTime() + 1);
-			process.getPages().remove();
-			if (process.getPages().isEmpty()) {
-				process.setTurnAroundTime(currentTime + 1);
-				finishedQueue.add(process);
+			if (metrics != null)
+				metrics.onHit();
+			if (pool == null)
+				process.getPolicy().onHit(slot);
+			else
+				pool.onHit(slot);
+			proceed(process);
+		}
+	}
+
+	/**
+	 * Method executeRun
+	 * Purpose:			Used to execute a running process for as long as its pages are in memory, one reference each tick,
+	 * 					in one step rather than one loop of the simulation each tick.
+	 * Postcondition:	The run of references in memory is measured first, up to the end of the time quantum, as hits
+	 * 					never change which pages are in memory. The cursor, running time and current time are then moved
+	 * 					past the run together, and the replacement algorithm is told of its hits at once. The blocked
+	 * 					processes due during the run are released at each time one is due, not at every tick. The
+	 * 					process then finishes, is interrupted by the time quantum, or stays running to fault on the next
+	 * 					tick, so the results match executing one reference at a time. Variable allocation, whose pool
+	 * 					trims pages on every hit, and a CPU that is not batched execute only the next reference.
+	 * Parameters:		@param process the running process
+	 */
+	protected void executeRun(T process) {
+		Trace trace = process.getTrace();
+		int slot = process.findFrame(trace.peek());
+		if (slot < 0 || pool != null || !batched) {
+			execute(process);
+			return;
+		}
+		ReplacementPolicy policy = process.getPolicy();
+		while (true) {
+			int cursor = trace.getCursor();
+			int available = Math.min(trace.remaining(), runSlots.length);
+			int left = Math.max(quantum - process.getRunningTime(), 1);
+			runSlots[0] = slot;
+			int count = 1;
+			while (count < available && count < left) {
+				slot = process.findFrame(trace.get(cursor + count));
+				if (slot < 0)
+					break;
+				runSlots[count++] = slot;
 			}
-			else if (process.getRunningTime() >= quantum && check(process.getPages().peek().getInstruction(), process.getFrames())) {	
-				process.setExitTime(currentTime);
-				process.setRunningTime(0);
-				readyQueue.add(process);
+			policy.onHits(runSlots, count, cursor);
+			process.setRunningTime(process.getRunningTime() + count);
+			trace.skip(count);
+			if (metrics != null)
+				metrics.onHit();
+			advanceTime(currentTime + count - 1, true);
+			if (trace.isEmpty()) {
+				finish(process);
+				return;
 			}
-			else
+			slot = process.findFrame(trace.peek());
+			if (process.getRunningTime() >= quantum && slot >= 0) {
+				preempt(process);
+				return;
+			}
+			if (slot < 0) {
 				runningQueue.add(process);
+				return;
+			}
+			advanceTime(currentTime + 1, false);
+		}
+	}
+
+	/**
+	 * Method advanceTime
+	 * Purpose:			Used to move the current time forward while a process is running, releasing the blocked
+	 * 					processes due on the way.
+	 * Postcondition:	The current time is the time given. Without metrics, the time jumps straight to each time a
+	 * 					blocked process is due, and then to the time given so the timing wheel keeps up with the clock.
+	 * 					With metrics, the ticks before each time a blocked process is due or a snapshot is taken are
+	 * 					recorded together, as the queue depths cannot change during them, and that time is stepped.
+	 * Parameters:		@param time the time to move to
+	 * 					@param hits whether the running process executes a hit at each tick passed
+	 */
+	private void advanceTime(long time, boolean hits) {
+		if (metrics != null) {
+			while (currentTime < time) {
+				long next = Math.min(time, metrics.getNextSnapshot());
+				if (!blockedQueue.isEmpty())
+					next = Math.min(next, blockedQueue.nextReadyTime());
+				long ticks = next - currentTime - 1;			//The ticks before the next that change nothing
+				if (ticks > 0) {
+					currentTime += ticks;
+					metrics.onTick(currentTime, readyQueue.size(), blockedQueue.size(), ticks);
+					if (hits)
+						metrics.onHits(ticks);
+				}
+				currentTime++;
+				operateBlockedQueue();
+				metrics.onTick(currentTime, readyQueue.size(), blockedQueue.size(), 1);
+				if (hits)
+					metrics.onHit();
+			}
+			return;
+		}
+		while (!blockedQueue.isEmpty() && blockedQueue.nextReadyTime() <= time) {
+			currentTime = blockedQueue.nextReadyTime();
+			operateBlockedQueue();
 		}
+		currentTime = time;
+		operateBlockedQueue();
+	}
+
+	/**
+	 * Method proceed
+	 * Purpose:			Used to move a process past the page it just executed from main memory.
+	 * Postcondition:	The process finishes, is interrupted by the time quantum, or continues running. A finished
+	 * 					process gives its frames back to the pool for variable allocation.
+	 * Parameters:		@param process the process that executed the page
+	 */
+	protected void proceed(T process) {
+		process.setRunningTime(process.getRunningTime() + 1);
+		process.getTrace().advance();
+		if (process.getTrace().isEmpty())
+			finish(process);
+		else if (process.getRunningTime() >= quantum && check(process, process.getTrace().peek()))
+			preempt(process);
+		else
+			runningQueue.add(process);
+	}
+
+	/**
+	 * Method finish
+	 * Purpose:			Used to finish a process that has executed every reference.
+	 * Postcondition:	The process is finished at the end of the current tick. It gives its frames back to the pool for
+	 * 					variable allocation.
+	 * Parameters:		@param process the process
+	 */
+	private void finish(T process) {
+		process.setTurnAroundTime(currentTime + 1);
+		finishedQueue.add(process);
+		if (pool != null)
+			pool.release(process);
+	}
+
+	/**
+	 * Method preempt
+	 * Purpose:			Used to interrupt a process that has used its time quantum.
+	 * Postcondition:	The process is moved to the ready queue
+	 * Parameters:		@param process the process
+	 */
+	private void preempt(T process) {
+		if (metrics != null)
+			metrics.onQuantumExpiry();
+		process.setExitTime(currentTime);
+		process.setRunningTime(0);
+		readyQueue.add(process);
 	}
 
 	/**
 	 * Method getNext
-	 * Purpose:			Used to get the next process to run by using round robin scheduling
+	 * Purpose:			Used to get the next process to run by using round robin scheduling. The ready queue keeps
+	 * 					this order itself, so this search is only needed for other queues.
 	 * Postcondition:	The next process is returned
 	 * Parameters:		@param processes the queue of processes
 	 * Return:			@return the next process to place in main memory
@@ -228,15 +785,11 @@ public abstract class CPU <T extends Process> {
 	 * Method check
 	 * Purpose:			Used to check if the page is in the main memory
 	 * Postcondition:	Used to determine if the process should be issued a page fault or not
-	 * Parameters:		@param instruction the instruction to find
-	 *					@param frames the memory frames
+	 * Parameters:		@param process the process owning the memory frames
+	 *					@param instruction the instruction to find
 	 * Return:			@return true of the instruction is found
 	 */
-	protected boolean check(int instruction, Frame[] frames) {
-		for (int i = 0; i < frames.length; i++) {
-			if(frames[i] != null && frames[i].getValue() == instruction)
-				return true;
-		}
-		return false;
+	protected boolean check(T process, int instruction) {
+		return process.findFrame(instruction) >= 0;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+/**
+ * Class:			CPUARC
+ * Purpose:			A CPU class that implements the Adaptive Replacement Cache (ARC) page replacement policy.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ * Type Parameter:	@param <T> extends Process to use process functions.
+ */
+public class CPUARC<T extends Process> extends CPU<T> {
+
+	/**
+	 * Constructor that calls the super class with the help of a parameter to initialize all variables.
+	 * Parameters:			@param quantum the time quantum
+	 */
+	public CPUARC(int quantum) {
+		super(quantum);
+	}
+
+	/**
+	 * Method getName
+	 * Purpose:			Used to return the name of the replacement algorithm for the report.
+	 * Return:			@return the name
+	 */
+	@Override
+	public String getName() {
+		return "ARC";
+	}
+
+	/**
+	 * Method createPolicy
+	 * Purpose:			Used to create the ARC policy for the frames of a process, or for the whole pool of frames.
+	 * Parameters:		@param frames the number of frames
+	 * Return:			@return the policy
+	 */
+	@Override
+	protected ReplacementPolicy createPolicy(int frames) {
+		return new ARCPolicy(frames);
+	}
+}
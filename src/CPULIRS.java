@@ -0,0 +1,38 @@
+/**
+ * Class:			CPULIRS
+ * Purpose:			A CPU class that implements the Low Inter-reference Recency Set (LIRS) page replacement policy.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ * Type Parameter:	@param <T> extends Process to use process functions.
+ */
+public class CPULIRS<T extends Process> extends CPU<T> {
+
+	/**
+	 * Constructor that calls the super class with the help of a parameter to initialize all variables.
+	 * Parameters:			@param quantum the time quantum
+	 */
+	public CPULIRS(int quantum) {
+		super(quantum);
+	}
+
+	/**
+	 * Method getName
+	 * Purpose:			Used to return the name of the replacement algorithm for the report.
+	 * Return:			@return the name
+	 */
+	@Override
+	public String getName() {
+		return "LIRS";
+	}
+
+	/**
+	 * Method createPolicy
+	 * Purpose:			Used to create the LIRS policy for the frames of a process, or for the whole pool of frames.
+	 * Parameters:		@param frames the number of frames
+	 * Return:			@return the policy
+	 */
+	@Override
+	protected ReplacementPolicy createPolicy(int frames) {
+		return new LIRSPolicy(frames);
+	}
+}
@@ -0,0 +1,52 @@
+/**
+ * Class:			CPUOPT
+ * Purpose:			A CPU class that implements the optimal (OPT) page replacement policy, which replaces the page that
+ * 					is next used furthest in the future. It needs the whole trace of each process, so streaming traces
+ * 					cannot be used.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ * Type Parameter:	@param <T> extends Process to use process functions.
+ */
+public class CPUOPT<T extends Process> extends CPU<T> {
+
+	/**
+	 * Constructor that calls the super class with the help of a parameter to initialize all variables.
+	 * Parameters:			@param quantum the time quantum
+	 */
+	public CPUOPT(int quantum) {
+		super(quantum);
+	}
+
+	/**
+	 * Method getName
+	 * Purpose:			Used to return the name of the replacement algorithm for the report.
+	 * Return:			@return the name
+	 */
+	@Override
+	public String getName() {
+		return "OPT";
+	}
+
+	/**
+	 * Method createPolicy
+	 * Purpose:			Used to refuse a policy over a number of frames, as the optimal policy needs the trace of the
+	 * 					process whose frames it replaces, so it cannot be used with variable allocation.
+	 * Parameters:		@param frames the number of frames
+	 * Return:			@return never returns
+	 */
+	@Override
+	protected ReplacementPolicy createPolicy(int frames) {
+		throw new IllegalStateException("The optimal policy can only be used with fixed allocation.");
+	}
+
+	/**
+	 * Method createPolicy
+	 * Purpose:			Used to create the optimal policy for the frames of a process.
+	 * Parameters:		@param process the process
+	 * Return:			@return the policy
+	 */
+	@Override
+	protected ReplacementPolicy createPolicy(T process) {
+		return new OPTPolicy(process);
+	}
+}
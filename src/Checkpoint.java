@@ -0,0 +1,225 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Queue;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Class:			Checkpoint
+ * Purpose:			Describes the checkpoint format and writes and reads whole checkpoints. A checkpoint begins with the
+ * 					magic bytes "CKPT", the format version, the name of the replacement algorithm and a tag, such as a
+ * 					hash of the traces, that must match when the checkpoint is read. The state of the CPU follows,
+ * 					compressed with deflate. The traces themselves are not written, only the position of each process
+ * 					in its trace, so the same traces must be given again to resume.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Checkpoint {
+	public static final int MAGIC = 0x434B5054;		//The bytes "CKPT" that begin every checkpoint
+	public static final int VERSION = 3;			//The version of the format written
+
+	/**
+	 * Method save
+	 * Purpose:			Used to write the state of a CPU to a file.
+	 * Precondition:	The CPU must be between two ticks, such as when its checkpoint listener is called.
+	 * Postcondition:	The file is written whole before it is given its name, so an earlier checkpoint of the same
+	 * 					name is only replaced by a complete one
+	 * Parameters:		@param cpu the CPU
+	 * 					@param tag the tag that must match when the checkpoint is read
+	 * 					@param fileName the name of the file
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	public static void save(CPU<? extends Process> cpu, String tag, String fileName) throws IOException {
+		Path file = Path.of(fileName).toAbsolutePath();
+		Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeByte(VERSION);
+				out.writeUTF(cpu.getName());
+				out.writeUTF(tag);
+				Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+				try {
+					DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater, 1 << 16);
+					DataOutputStream state = new DataOutputStream(deflated);
+					cpu.writeCheckpoint(state);
+					state.flush();
+					deflated.finish();
+				}
+				finally {
+					deflater.end();
+				}
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Method readPolicy
+	 * Purpose:			Used to read the name of the replacement algorithm of a checkpoint, to create its CPU.
+	 * Parameters:		@param fileName the name of the file
+	 * Return:			@return the name, as returned by the getName of the CPU
+	 * Throws:			@throws IOException if the file cannot be read or is not a checkpoint
+	 */
+	public static String readPolicy(String fileName) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(fileName))))) {
+			readHeader(in, fileName);
+			return in.readUTF();
+		}
+	}
+
+	/**
+	 * Method restore
+	 * Purpose:			Used to read the state of a CPU from a file, so that it can be resumed.
+	 * Precondition:	The CPU must not have been run, and must use the replacement algorithm and allocation of the
+	 * 					checkpoint. The processes must be new processes of the same traces and frames, in the same order.
+	 * Postcondition:	The CPU continues from the checkpoint when resumed, and finishes exactly as the run that wrote it
+	 * 					would have, unless a setting such as the time quantum is changed first
+	 * Parameters:		@param cpu the CPU
+	 * 					@param processes the processes
+	 * 					@param tag the tag the checkpoint must have been written with
+	 * 					@param fileName the name of the file
+	 * Throws:			@throws IOException if the file cannot be read or does not match the CPU, processes or tag
+	 */
+	public static <T extends Process> void restore(CPU<T> cpu, Queue<T> processes, String tag, String fileName) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(fileName)), 1 << 16))) {
+			readHeader(in, fileName);
+			String policy = in.readUTF();
+			if (!policy.equals(cpu.getName()))
+				throw new IOException("The checkpoint " + fileName + " is of " + policy + ", not " + cpu.getName() + ".");
+			if (!in.readUTF().equals(tag))
+				throw new IOException("The checkpoint " + fileName + " was written for other traces.");
+			cpu.readCheckpoint(processes, new DataInputStream(new BufferedInputStream(new InflaterInputStream(in), 1 << 16)));
+		}
+	}
+
+	/**
+	 * Method writeInts
+	 * Purpose:			Used to write an array of whole numbers with its length.
+	 * Parameters:		@param out the stream to write
+	 * 					@param values the values
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values)
+			out.writeInt(value);
+	}
+
+	/**
+	 * Method readInts
+	 * Purpose:			Used to read an array of whole numbers written by writeInts.
+	 * Parameters:		@param in the stream to read
+	 * Return:			@return the values
+	 * Throws:			@throws IOException if the stream cannot be read
+	 */
+	public static int[] readInts(DataInputStream in) throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++)
+			values[i] = in.readInt();
+		return values;
+	}
+
+	/**
+	 * Method readInts
+	 * Purpose:			Used to read an array of whole numbers written by writeInts into an array of the same length.
+	 * Parameters:		@param in the stream to read
+	 * 					@param values the array to fill
+	 * Throws:			@throws IOException if the stream cannot be read or the lengths differ
+	 */
+	public static void readInts(DataInputStream in, int[] values) throws IOException {
+		expect(in.readInt(), values.length, "values");
+		for (int i = 0; i < values.length; i++)
+			values[i] = in.readInt();
+	}
+
+	/**
+	 * Method writeLongs
+	 * Purpose:			Used to write an array of long numbers with its length.
+	 * Parameters:		@param out the stream to write
+	 * 					@param values the values
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+		out.writeInt(values.length);
+		for (long value : values)
+			out.writeLong(value);
+	}
+
+	/**
+	 * Method readLongs
+	 * Purpose:			Used to read an array of long numbers written by writeLongs into an array of the same length.
+	 * Parameters:		@param in the stream to read
+	 * 					@param values the array to fill
+	 * Throws:			@throws IOException if the stream cannot be read or the lengths differ
+	 */
+	public static void readLongs(DataInputStream in, long[] values) throws IOException {
+		expect(in.readInt(), values.length, "values");
+		for (int i = 0; i < values.length; i++)
+			values[i] = in.readLong();
+	}
+
+	/**
+	 * Method writeBooleans
+	 * Purpose:			Used to write an array of booleans with its length.
+	 * Parameters:		@param out the stream to write
+	 * 					@param values the values
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public static void writeBooleans(DataOutputStream out, boolean[] values) throws IOException {
+		out.writeInt(values.length);
+		for (boolean value : values)
+			out.writeBoolean(value);
+	}
+
+	/**
+	 * Method readBooleans
+	 * Purpose:			Used to read an array of booleans written by writeBooleans into an array of the same length.
+	 * Parameters:		@param in the stream to read
+	 * 					@param values the array to fill
+	 * Throws:			@throws IOException if the stream cannot be read or the lengths differ
+	 */
+	public static void readBooleans(DataInputStream in, boolean[] values) throws IOException {
+		expect(in.readInt(), values.length, "values");
+		for (int i = 0; i < values.length; i++)
+			values[i] = in.readBoolean();
+	}
+
+	/**
+	 * Method expect
+	 * Purpose:			Used to check that a number read from a checkpoint matches the simulation it is read into.
+	 * Parameters:		@param read the number read
+	 * 					@param expected the number of the simulation
+	 * 					@param what what the number counts, for the message
+	 * Throws:			@throws IOException if the numbers differ
+	 */
+	public static void expect(int read, int expected, String what) throws IOException {
+		if (read != expected)
+			throw new IOException("The checkpoint has " + read + " " + what + " where the simulation has " + expected + ".");
+	}
+
+	/**
+	 * Method readHeader
+	 * Purpose:			Used to read the magic bytes and version of a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * 					@param fileName the name of the file, for the message
+	 * Throws:			@throws IOException if the file is not a checkpoint of this version
+	 */
+	private static void readHeader(DataInputStream in, String fileName) throws IOException {
+		if (in.readInt() != MAGIC)
+			throw new IOException("The file " + fileName + " is not a checkpoint.");
+		int version = in.readUnsignedByte();
+		if (version != VERSION)
+			throw new IOException("The checkpoint " + fileName + " is version " + version + ", but version " + VERSION + " is needed.");
+	}
+}
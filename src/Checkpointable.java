@@ -0,0 +1,18 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Interface:		Checkpointable
+ * Purpose:			Part of the state of a simulation that can be written to a checkpoint and read back. State is read
+ * 					into an object created the same way as the one written, for example with the same number of frames,
+ * 					so only what changes while the simulation runs is written.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public interface Checkpointable {
+
+	public void writeState(DataOutputStream out) throws IOException;	//Writes the state that changes as the simulation runs
+
+	public void readState(DataInputStream in) throws IOException;		//Replaces the state with the state written by writeState
+}
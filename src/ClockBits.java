@@ -0,0 +1,152 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			ClockBits
+ * Purpose:			The use bits and hand of the clock policy for the frames of a process. The use bits are packed into
+ * 					a bitset of longs so that the hand can pass over a whole word of used frames at once, clearing their
+ * 					bits and finding the next unused frame with Long.numberOfTrailingZeros. The hand is kept between
+ * 					faults, so each search carries on from the frame after the last one replaced.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ClockBits implements Checkpointable {
+	private long[] used;				//The use bit of each frame slot
+	private int frames;					//The number of frame slots
+	private int hand;					//The slot the clock points to
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frame slots
+	 */
+	public ClockBits(int frames) {
+		this.used = new long[(frames + 63) >>> 6];
+		this.frames = frames;
+		this.hand = 0;
+	}
+
+	/**
+	 * Method setUsed
+	 * Purpose:			Used to set the use bit of a frame when its page is referenced.
+	 * Postcondition:	The use bit of the slot is set
+	 * Parameters:		@param slot the slot of the frame
+	 */
+	public void setUsed(int slot) {
+		used[slot >>> 6] |= 1L << slot;
+	}
+
+	/**
+	 * Method setUsed
+	 * Purpose:			Used to set the use bits of the frames referenced by a run of hits.
+	 * Postcondition:	The use bit of every slot of the run is set, with each repeat of the slot before it skipped
+	 * Parameters:		@param slots the slots referenced
+	 * 					@param count the number of slots referenced
+	 */
+	public void setUsed(int[] slots, int count) {
+		int last = -1;
+		for (int i = 0; i < count; i++) {
+			if (slots[i] != last) {
+				last = slots[i];
+				used[last >>> 6] |= 1L << last;
+			}
+		}
+	}
+
+	/**
+	 * Method isUsed
+	 * Purpose:			Used to determine whether the use bit of a frame is set.
+	 * Postcondition:	Returns true if the use bit is set
+	 * Parameters:		@param slot the slot of the frame
+	 * Return:			@return true if the frame was used since the hand last passed it
+	 */
+	public boolean isUsed(int slot) {
+		return (used[slot >>> 6] & (1L << slot)) != 0;
+	}
+
+	/**
+	 * Method loaded
+	 * Purpose:			Used to record that a page was swapped into a frame.
+	 * Postcondition:	The use bit of the slot is set and the hand moves to the slot after it
+	 * Parameters:		@param slot the slot of the frame
+	 */
+	public void loaded(int slot) {
+		setUsed(slot);
+		hand = slot + 1 == frames ? 0 : slot + 1;
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to find the frame to replace. Starting at the hand, the use bits of used frames are cleared
+	 * 					until a frame with a clear use bit is found. Whole words of used frames are cleared in one step.
+	 * Precondition:	There must be at least one frame.
+	 * Postcondition:	The use bits the hand passed are cleared and the slot found is returned. The hand is left on the
+	 * 					slot until the new page is loaded.
+	 * Return:			@return the slot of the frame to replace
+	 */
+	public int chooseVictim() {
+		int position = hand;
+		while (true) {
+			int word = position >>> 6;
+			long ahead = -1L << position;						//The bits of the word from the hand onwards
+			if (word == used.length - 1 && (frames & 63) != 0)
+				ahead &= -1L >>> (64 - (frames & 63));			//Ignore the bits past the last frame
+			long unused = ~used[word] & ahead;
+			if (unused != 0) {
+				int slot = (word << 6) + Long.numberOfTrailingZeros(unused);
+				used[word] &= ~(ahead & ((1L << slot) - 1));	//Clear the bits passed on the way to the slot
+				hand = slot;
+				return slot;
+			}
+			used[word] &= ~ahead;
+			position = (word + 1) << 6;
+			if (position >= frames)
+				position = 0;
+		}
+	}
+
+	/**
+	 * Method getHand
+	 * Purpose:			Used to return the slot the clock points to.
+	 * Postcondition:	Returns the hand
+	 * Return:			@return the slot of the hand
+	 */
+	public int getHand() {
+		return hand;
+	}
+
+	/**
+	 * Method clear
+	 * Purpose:			Used to clear every use bit and return the hand to the first frame.
+	 * Postcondition:	The bits and hand are reset
+	 */
+	public void clear() {
+		Arrays.fill(used, 0);
+		hand = 0;
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the use bits and the hand to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		Checkpoint.writeLongs(out, used);
+		out.writeInt(hand);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the use bits and the hand with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		Checkpoint.readLongs(in, used);
+		hand = in.readInt();
+	}
+}
@@ -0,0 +1,98 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			ClockPolicy
+ * Purpose:			The clock replacement policy, which sweeps a hand over the frames, giving each frame whose use bit
+ * 					is set a second chance, and replaces the first frame whose use bit is clear.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ClockPolicy implements ReplacementPolicy {
+	private ClockBits clock;			//The use bits and hand of the frames
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frames of the process
+	 */
+	public ClockPolicy(int frames) {
+		this.clock = new ClockBits(frames);
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to set the use bit of the frame holding a page that was just used.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	@Override
+	public void onHit(int slot) {
+		clock.setUsed(slot);
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to set the use bits of the frames used by a run of hits.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	@Override
+	public void onHits(int[] slots, int count, int cursor) {
+		clock.setUsed(slots, count);
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to move the hand to the first frame whose use bit is clear, clearing the bits it passes.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	@Override
+	public int chooseVictim(int page) {
+		return clock.chooseVictim();
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to set the use bit of the frame a page was loaded into and move the hand past it.
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page loaded
+	 */
+	@Override
+	public void onFault(int slot, int page) {
+		clock.loaded(slot);
+	}
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to record that a frame was freed. Nothing needs to change, as the frame is loaded again,
+	 * 					setting its use bit, before the hand next looks for a victim.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	@Override
+	public void onRemove(int slot) {
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the use bits and hand to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		clock.writeState(out);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the use bits and hand with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		clock.readState(in);
+	}
+}
@@ -0,0 +1,28 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Class:			DispatchEvent
+ * Purpose:			A Java Flight Recorder event for each process given the CPU from the ready queue, recorded when a CPU
+ * 					has metrics and the event is enabled in the recording. The times are simulated ticks.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+@Name("simulator.Dispatch")
+@Label("Dispatch")
+@Category("Paging Simulator")
+@Description("A simulated process was given the CPU")
+public class DispatchEvent extends jdk.jfr.Event {
+	@Label("Policy")
+	public String policy;					//The replacement algorithm of the CPU
+	@Label("Process")
+	public int process;						//The ID of the process
+	@Label("Simulated Time")
+	public long time;					//The tick of the dispatch
+	@Label("Context Switch")
+	public boolean contextSwitch;			//Whether a different process ran before it
+	@Label("Ready Queue Depth")
+	public int readyDepth;					//The processes left in the ready queue
+}
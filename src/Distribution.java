@@ -0,0 +1,11 @@
+/**
+ * Interface:		Distribution
+ * Purpose:			Supplies the page numbers of a generated trace one at a time. A distribution may keep state between
+ * 					references, such as the position of a scan, so each process is given its own.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public interface Distribution {
+
+	public int next();			//Returns the next page number
+}
@@ -0,0 +1,185 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class:			FileHandles
+ * Purpose:			Keeps the files being streamed under a limit of files open at once, however many are being read.
+ * 					Each file is read through a stream that remembers its own position. The stream only holds an open
+ * 					file while it reads, and the file is then kept open until the limit is reached. At that point the
+ * 					file that has waited longest since it was read is closed, and it is opened again at its position
+ * 					when it is next read. A read waits only when every open file is being read by another thread, so
+ * 					any number of files can be streamed at the same time with a limit of one. The handles may be shared
+ * 					by many threads.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class FileHandles {
+	private int limit;							//The most files open at once
+	private int open;							//The number of files open, whether being read or not
+	private Map<Input, FileChannel> idle;		//The open files not being read, from longest waiting to most recent
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param limit the most files open at once
+	 */
+	public FileHandles(int limit) {
+		if (limit < 1)
+			throw new IllegalArgumentException("At least one file must be allowed open.");
+		this.limit = limit;
+		this.open = 0;
+		this.idle = new LinkedHashMap<Input, FileChannel>();
+	}
+
+	/**
+	 * Method open
+	 * Purpose:			Used to create a stream reading a file from its start. The file is not opened until it is read.
+	 * Parameters:		@param fileName the name of the file
+	 * Return:			@return the stream
+	 * Throws:			@throws IOException if the file does not exist or cannot be read
+	 */
+	public InputStream open(String fileName) throws IOException {
+		Path path = Paths.get(fileName);
+		if (!Files.isReadable(path))
+			throw new NoSuchFileException(fileName);
+		return new Input(path);
+	}
+
+	/**
+	 * Method acquire
+	 * Purpose:			Used to give a stream an open file at its position, opening the file if it was closed.
+	 * Postcondition:	The file counts as being read until it is released
+	 * Parameters:		@param input the stream
+	 * Return:			@return the open file
+	 * Throws:			@throws IOException if the file cannot be opened, or the thread is interrupted while waiting
+	 */
+	private synchronized FileChannel acquire(Input input) throws IOException {
+		FileChannel channel = idle.remove(input);
+		if (channel != null)
+			return channel;
+		while (open >= limit) {
+			if (idle.isEmpty()) {
+				try {
+					wait();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for a file to close.");
+				}
+			}
+			else {
+				Iterator<FileChannel> eldest = idle.values().iterator();
+				FileChannel closing = eldest.next();
+				eldest.remove();
+				open--;
+				closing.close();
+			}
+		}
+		channel = FileChannel.open(input.path, StandardOpenOption.READ);
+		open++;
+		channel.position(input.position);
+		return channel;
+	}
+
+	/**
+	 * Method release
+	 * Purpose:			Used to end a read, keeping the file open until it must be closed for another.
+	 * Parameters:		@param input the stream
+	 * 					@param channel the open file
+	 */
+	private synchronized void release(Input input, FileChannel channel) {
+		idle.put(input, channel);
+		notifyAll();
+	}
+
+	/**
+	 * Method close
+	 * Purpose:			Used to close the file of a stream that will not be read again.
+	 * Parameters:		@param input the stream
+	 * Throws:			@throws IOException if the file cannot be closed
+	 */
+	private synchronized void close(Input input) throws IOException {
+		FileChannel channel = idle.remove(input);
+		if (channel != null) {
+			open--;
+			notifyAll();
+			channel.close();
+		}
+	}
+
+	/**
+	 * Class:			Input
+	 * Purpose:			A stream reading one file through the handles, remembering its position so the file can be
+	 * 					closed between reads.
+	 */
+	private class Input extends InputStream {
+		private Path path;						//The file read
+		private long position;					//The position of the next byte to read
+
+		/**
+		 * Constructor with a parameter to initialize all variables.
+		 * Parameters:	@param path the file read
+		 */
+		private Input(Path path) {
+			this.path = path;
+			this.position = 0;
+		}
+
+		/**
+		 * Method read
+		 * Purpose:			Used to read one byte.
+		 * Return:			@return the byte, or -1 at the end of the file
+		 * Throws:			@throws IOException if the file cannot be read
+		 */
+		@Override
+		public int read() throws IOException {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+		}
+
+		/**
+		 * Method read
+		 * Purpose:			Used to read bytes from the position of the stream, opening the file again if it was closed.
+		 * Parameters:		@param bytes the array receiving the bytes
+		 * 					@param offset the position of the first byte to write
+		 * 					@param length the most bytes to read
+		 * Return:			@return the number of bytes read, or -1 at the end of the file
+		 * Throws:			@throws IOException if the file cannot be read
+		 */
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			if (length == 0)
+				return 0;
+			FileChannel channel = acquire(this);
+			try {
+				int read = channel.read(ByteBuffer.wrap(bytes, offset, length));
+				if (read > 0)
+					position += read;
+				return read;
+			}
+			finally {
+				release(this, channel);
+			}
+		}
+
+		/**
+		 * Method close
+		 * Purpose:			Used to close the file, which is not opened again.
+		 * Throws:			@throws IOException if the file cannot be closed
+		 */
+		@Override
+		public void close() throws IOException {
+			FileHandles.this.close(this);
+		}
+	}
+}
@@ -0,0 +1,211 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Class:			FramePool
+ * Purpose:			One pool of frames shared by every process for variable allocation. A process is given a free frame
+ * 					when it faults, or if there are none, the frame chosen by a single replacement policy over the whole
+ * 					pool, whichever process owns it. The frames of each process are also kept in their own LRU order
+ * 					with the time each was last used, so the working set and PFF allocations can free the pages a
+ * 					process no longer uses, starting from its least recently used. Times are counted in references
+ * 					made by the process, so a process that is blocked or waiting does not lose its pages.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class FramePool implements Checkpointable {
+	private Allocation allocation;				//How the pool grows and shrinks the frames of each process
+	private ReplacementPolicy policy;			//The replacement policy over every frame in the pool
+	private Process[] owners;					//The process whose page is in each frame, or null if the frame is free
+	private int[] ownerIndex;					//The index of the process whose page is in each frame
+	private int[] lastUse;						//The reference of its process each frame was last used at
+	private int[] free;							//A stack of the free frames, lowest on top
+	private int freeCount;						//The number of free frames
+	private NodeLists residents;				//The frames of each process, most recently used first
+	private Map<Process, Integer> indexes;		//The index of each process in the pool
+	private int[] lastFault;					//The reference each process last faulted at, or -1
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param allocation the variable allocation
+	 * 				@param frames the number of frames in the pool
+	 * 				@param processes the number of processes that will share the pool
+	 * 				@param policy the replacement policy over the frames
+	 */
+	public FramePool(Allocation allocation, int frames, int processes, ReplacementPolicy policy) {
+		this.allocation = allocation;
+		this.policy = policy;
+		this.owners = new Process[frames];
+		this.ownerIndex = new int[frames];
+		this.lastUse = new int[frames];
+		this.free = new int[frames];
+		for (int i = 0; i < frames; i++)
+			free[i] = frames - 1 - i;
+		this.freeCount = frames;
+		this.residents = new NodeLists(frames, processes);
+		this.indexes = new IdentityHashMap<Process, Integer>();
+		this.lastFault = new int[processes];
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add a process to the processes sharing the pool.
+	 * Precondition:	No more processes may be added than the pool was created for.
+	 * Parameters:		@param process the process
+	 */
+	public void add(Process process) {
+		lastFault[indexes.size()] = -1;
+		indexes.put(process, indexes.size());
+	}
+
+	/**
+	 * Method load
+	 * Purpose:			Used to load the page a process faulted on into the pool. For PFF allocation, if the process has
+	 * 					made more references than the fault interval since its last fault, the pages it has not used
+	 * 					since then are freed first. The page goes into a free frame, or the frame the replacement policy
+	 * 					chooses, which is taken from the process that owns it.
+	 * Postcondition:	The page is in memory and belongs to the process
+	 * Parameters:		@param process the process that faulted
+	 * 					@param page the page
+	 * Return:			@return the slot of the frame holding the page
+	 */
+	public int load(Process process, int page) {
+		int index = indexes.get(process);
+		int time = process.getTrace().getCursor();
+		if (allocation.getKind() == Allocation.FAULT_FREQUENCY) {
+			if (lastFault[index] >= 0 && time - lastFault[index] > allocation.getParameter())
+				trim(index, lastFault[index]);
+			lastFault[index] = time;
+		}
+		int slot;
+		if (freeCount > 0)
+			slot = free[--freeCount];
+		else {
+			slot = policy.chooseVictim(page);
+			owners[slot].unloadPage(slot);
+			residents.remove(slot);
+		}
+		process.loadPage(slot, page);
+		owners[slot] = process;
+		ownerIndex[slot] = index;
+		lastUse[slot] = time;
+		residents.addFirst(index, slot);
+		policy.onFault(slot, page);
+		trimWorkingSet(index, time);
+		return slot;
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to record that the page in a frame was used by the process that owns it.
+	 * Postcondition:	The frame is the most recently used of its process and the replacement policy is told of the use
+	 * Parameters:		@param slot the slot of the frame
+	 */
+	public void onHit(int slot) {
+		int index = ownerIndex[slot];
+		int time = owners[slot].getTrace().getCursor();
+		lastUse[slot] = time;
+		residents.moveToFirst(index, slot);
+		policy.onHit(slot);
+		trimWorkingSet(index, time);
+	}
+
+	/**
+	 * Method release
+	 * Purpose:			Used to free every frame of a process that has finished.
+	 * Postcondition:	The frames are free for the other processes
+	 * Parameters:		@param process the process
+	 */
+	public void release(Process process) {
+		trim(indexes.get(process), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Method getFreeCount
+	 * Purpose:			Used to return the number of frames that hold no page.
+	 * Return:			@return the free frames
+	 */
+	public int getFreeCount() {
+		return freeCount;
+	}
+
+	/**
+	 * Method trimWorkingSet
+	 * Purpose:			Used to free the pages of a process that fall outside its working set window, for working set
+	 * 					allocation only.
+	 * Parameters:		@param index the index of the process
+	 * 					@param time the reference the process is making
+	 */
+	private void trimWorkingSet(int index, int time) {
+		if (allocation.getKind() == Allocation.WORKING_SET)
+			trim(index, time - allocation.getParameter() + 1);
+	}
+
+	/**
+	 * Method trim
+	 * Purpose:			Used to free the frames of a process that were last used before a time, least recently used first.
+	 * Parameters:		@param index the index of the process
+	 * 					@param time the earliest use of a frame that is kept
+	 */
+	private void trim(int index, int time) {
+		int slot = residents.getLast(index);
+		while (slot >= 0 && lastUse[slot] < time) {
+			owners[slot].unloadPage(slot);
+			owners[slot] = null;
+			residents.remove(slot);
+			policy.onRemove(slot);
+			free[freeCount++] = slot;
+			slot = residents.getLast(index);
+		}
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the owners, free frames and recency of the pool and its replacement policy to a
+	 * 					checkpoint, naming each process by the order it was added.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		out.writeInt(owners.length);
+		for (Process owner : owners)
+			out.writeInt(owner == null ? -1 : indexes.get(owner));
+		Checkpoint.writeInts(out, ownerIndex);
+		Checkpoint.writeInts(out, lastUse);
+		Checkpoint.writeInts(out, free);
+		out.writeInt(freeCount);
+		residents.writeState(out);
+		Checkpoint.writeInts(out, lastFault);
+		policy.writeState(out);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the state of the pool and its replacement policy with the state read from a
+	 * 					checkpoint.
+	 * Precondition:	Every process must have been added, in the order they were added when the state was written.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		Process[] processes = new Process[indexes.size()];
+		for (Map.Entry<Process, Integer> entry : indexes.entrySet())
+			processes[entry.getValue()] = entry.getKey();
+		Checkpoint.expect(in.readInt(), owners.length, "frames in the pool");
+		for (int i = 0; i < owners.length; i++) {
+			int owner = in.readInt();
+			owners[i] = owner < 0 ? null : processes[owner];
+		}
+		Checkpoint.readInts(in, ownerIndex);
+		Checkpoint.readInts(in, lastUse);
+		Checkpoint.readInts(in, free);
+		freeCount = in.readInt();
+		residents.readState(in);
+		Checkpoint.readInts(in, lastFault);
+		policy.readState(in);
+	}
+}
@@ -0,0 +1,129 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			GhostTable
+ * Purpose:			Remembers a bounded number of pages that were recently replaced, so the adaptive policies can tell
+ * 					when a page comes back soon after it left memory. Each ghost entry is given a node number from a
+ * 					fixed range, so the entries can be linked into the same lists as the frame slots. The page of each
+ * 					node is found through a primitive hash table and freed nodes are reused, so nothing is allocated
+ * 					once the table is created.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class GhostTable implements Checkpointable {
+	private PageTable nodes;			//The node of the ghost entry of each page
+	private int[] pages;				//The page of each node, less the first node
+	private int[] free;					//A stack of the nodes not in use
+	private int freeCount;				//The number of nodes on the free stack
+	private int first;					//The number of the first node
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param first the number of the first node, usually the number of frames
+	 * 				@param capacity the most pages that can be remembered at once
+	 */
+	public GhostTable(int first, int capacity) {
+		this.nodes = new PageTable(capacity);
+		this.pages = new int[capacity];
+		this.free = new int[capacity];
+		this.first = first;
+		for (int i = 0; i < capacity; i++)
+			free[i] = first + capacity - 1 - i;
+		this.freeCount = capacity;
+	}
+
+	/**
+	 * Method find
+	 * Purpose:			Used to find the ghost entry of a page.
+	 * Parameters:		@param page the page number
+	 * Return:			@return the node of the entry, or -1 if the page is not remembered
+	 */
+	public int find(int page) {
+		return nodes.get(page);
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to remember a page that was just replaced.
+	 * Precondition:	The table must not be full and the page must not already be remembered.
+	 * Parameters:		@param page the page number
+	 * Return:			@return the node of the new entry
+	 */
+	public int add(int page) {
+		if (freeCount == 0)
+			throw new IllegalStateException("The ghost table is full.");
+		int node = free[--freeCount];
+		pages[node - first] = page;
+		nodes.put(page, node);
+		return node;
+	}
+
+	/**
+	 * Method remove
+	 * Purpose:			Used to forget the page of a ghost entry.
+	 * Postcondition:	The node can be given to another page.
+	 * Parameters:		@param node the node of the entry
+	 */
+	public void remove(int node) {
+		nodes.remove(pages[node - first]);
+		free[freeCount++] = node;
+	}
+
+	/**
+	 * Method isGhost
+	 * Purpose:			Used to tell a ghost entry from a frame slot when both are in the same list.
+	 * Parameters:		@param node the node
+	 * Return:			@return true if the node is a ghost entry rather than a frame slot
+	 */
+	public boolean isGhost(int node) {
+		return node >= first;
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of pages remembered.
+	 * Return:			@return the size
+	 */
+	public int size() {
+		return pages.length - freeCount;
+	}
+
+	/**
+	 * Method isFull
+	 * Purpose:			Used to determine whether another page can be remembered.
+	 * Return:			@return true if the table is full
+	 */
+	public boolean isFull() {
+		return freeCount == 0;
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the ghost entries to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		nodes.writeState(out);
+		Checkpoint.writeInts(out, pages);
+		Checkpoint.writeInts(out, free);
+		out.writeInt(freeCount);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the ghost entries with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		nodes.readState(in);
+		Checkpoint.readInts(in, pages);
+		Checkpoint.readInts(in, free);
+		freeCount = in.readInt();
+	}
+}
@@ -0,0 +1,101 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class:			Histogram
+ * Purpose:			Counts values in a fixed set of buckets whose bounds double, so bucket zero holds zero, bucket one
+ * 					holds one, bucket two holds two and three, bucket three holds four to seven, and so on, with the
+ * 					last bucket holding everything larger. Recording a value is a bit count and an add to a striped
+ * 					counter, so a histogram can be read from another thread while it is recorded into.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Histogram {
+	private LongAdder[] buckets;			//The count of values in each bucket
+	private LongAdder sum;					//The sum of the values recorded
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param buckets the number of buckets, at least two
+	 */
+	public Histogram(int buckets) {
+		if (buckets < 2 || buckets > 64)
+			throw new IllegalArgumentException("A histogram needs between 2 and 64 buckets.");
+		this.buckets = new LongAdder[buckets];
+		for (int i = 0; i < buckets; i++)
+			this.buckets[i] = new LongAdder();
+		this.sum = new LongAdder();
+	}
+
+	/**
+	 * Method record
+	 * Purpose:			Used to count a value.
+	 * Parameters:		@param value the value, which must not be negative
+	 */
+	public void record(long value) {
+		record(value, 1);
+	}
+
+	/**
+	 * Method record
+	 * Purpose:			Used to count a value a number of times at once, such as a depth that held for many ticks.
+	 * Parameters:		@param value the value, which must not be negative
+	 * 					@param count the number of times the value is counted
+	 */
+	public void record(long value, long count) {
+		buckets[Math.min(64 - Long.numberOfLeadingZeros(value), buckets.length - 1)].add(count);
+		sum.add(value * count);
+	}
+
+	/**
+	 * Method getCounts
+	 * Purpose:			Used to return the count of each bucket at this moment.
+	 * Return:			@return the counts, one for each bucket
+	 */
+	public long[] getCounts() {
+		long[] counts = new long[buckets.length];
+		for (int i = 0; i < counts.length; i++)
+			counts[i] = buckets[i].sum();
+		return counts;
+	}
+
+	/**
+	 * Method getUpperBound
+	 * Purpose:			Used to return the largest value counted by a bucket.
+	 * Parameters:		@param bucket the bucket
+	 * Return:			@return the largest value, or Long.MAX_VALUE for the last bucket
+	 */
+	public long getUpperBound(int bucket) {
+		return bucket == buckets.length - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+
+	/**
+	 * Method getMean
+	 * Purpose:			Used to return the mean of the values recorded.
+	 * Return:			@return the mean, or zero if nothing was recorded
+	 */
+	public double getMean() {
+		long count = 0;
+		for (LongAdder bucket : buckets)
+			count += bucket.sum();
+		return count == 0 ? 0 : (double) sum.sum() / count;
+	}
+
+	/**
+	 * Method toString
+	 * Purpose:			Used to list the buckets that have values, as "upper bound: count".
+	 * Return:			@return the histogram as a string
+	 */
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("{");
+		long[] counts = getCounts();
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0)
+				continue;
+			if (text.length() > 1)
+				text.append(", ");
+			text.append(i == counts.length - 1 ? ">" + getUpperBound(i - 1) : "<=" + getUpperBound(i)).append(": ").append(counts[i]);
+		}
+		return text.append("}").toString();
+	}
+}
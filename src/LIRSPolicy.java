@@ -0,0 +1,251 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			LIRSPolicy
+ * Purpose:			The Low Inter-reference Recency Set (LIRS) policy of Jiang and Zhang. Pages that were used twice
+ * 					within a short distance are LIR pages and keep most of the frames. The remaining frames, about one in
+ * 					a hundred but at least one, hold HIR pages in a FIFO queue (Q), and are the only frames replaced
+ * 					while any exist. A stack (S) in recency order holds the LIR pages, and the HIR pages used more
+ * 					recently than the oldest LIR page, including ghost entries for those that were replaced. A HIR page
+ * 					used again while in S has a shorter reuse distance than the oldest LIR page, so they swap status.
+ * 					The ghost entries are limited to the number of frames, forgetting the oldest first. Every operation
+ * 					is O(1) apart from removing HIR entries from the bottom of S, which is O(1) amortised.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class LIRSPolicy implements ReplacementPolicy {
+	private static final int STACK = 0;				//The stack S in the stack lists
+	private static final int QUEUE = 0;				//The queue Q of resident HIR pages in the queue lists
+	private static final int GHOSTS = 1;			//The ghost entries oldest first in the queue lists
+	private int lirLimit;							//The number of frames for LIR pages
+	private int lirCount;							//The number of LIR pages
+	private boolean[] lir;							//Whether the page in each frame is a LIR page
+	private int[] pages;							//The page held in each frame
+	private NodeLists stack;						//The stack S, over the frame slots then the ghost entries
+	private NodeLists queues;						//The queue Q of frame slots and the ghost entries in age order
+	private GhostTable ghosts;						//The ghost entries of the replaced HIR pages still in S
+	private boolean promote;						//Whether the page being loaded was found in S
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frames of the process
+	 */
+	public LIRSPolicy(int frames) {
+		this.lirLimit = frames > 1 ? frames - Math.max(frames / 100, 1) : frames;
+		this.lirCount = 0;
+		this.lir = new boolean[frames];
+		this.pages = new int[frames];
+		this.stack = new NodeLists(frames * 2, 1);
+		this.queues = new NodeLists(frames * 2, 2);
+		this.ghosts = new GhostTable(frames, frames);
+		this.promote = false;
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to move the frame holding a page that was just used to the top of S. A HIR page that was
+	 * 					still in S becomes a LIR page and the oldest LIR page becomes a HIR page in its place.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	@Override
+	public void onHit(int slot) {
+		if (lir[slot]) {
+			stack.moveToFirst(STACK, slot);
+			prune();
+		}
+		else if (stack.getList(slot) == STACK) {
+			queues.remove(slot);
+			stack.moveToFirst(STACK, slot);
+			setLIR(slot);
+		}
+		else {
+			stack.addFirst(STACK, slot);
+			queues.remove(slot);
+			queues.addLast(QUEUE, slot);
+		}
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to record a run of hits. Each stretch of hits on LIR pages is moved to the top of S
+	 * 					in the order each page was last used, then S is pruned once, as hits on LIR pages never change
+	 * 					which pages are LIR and pruning only removes HIR entries below the lowest LIR page. Hits on
+	 * 					HIR pages change the status of pages, so they are recorded one at a time.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	@Override
+	public void onHits(int[] slots, int count, int cursor) {
+		int i = 0;
+		while (i < count) {
+			if (!lir[slots[i]]) {
+				onHit(slots[i++]);
+				continue;
+			}
+			int end = i + 1;
+			while (end < count && lir[slots[end]])
+				end++;
+			stack.moveAllToFirst(STACK, slots, i, end - i, -1);
+			prune();
+			i = end;
+		}
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to replace the HIR page at the front of Q, leaving a ghost entry in its place if it is in S.
+	 * 					If there are no HIR pages, which only happens with a single frame, the oldest LIR page is replaced.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	@Override
+	public int chooseVictim(int page) {
+		int ghost = ghosts.find(page);
+		if (ghost >= 0) {
+			forget(ghost);
+			promote = true;
+		}
+		int slot = queues.getFirst(QUEUE);
+		if (slot < 0) {
+			slot = stack.getLast(STACK);
+			lir[slot] = false;
+			lirCount--;
+			stack.remove(slot);
+			prune();
+			return slot;
+		}
+		queues.remove(slot);
+		if (stack.getList(slot) == STACK) {
+			if (ghosts.isFull())
+				forget(queues.getFirst(GHOSTS));
+			ghost = ghosts.add(pages[slot]);
+			stack.replace(slot, ghost);
+			queues.addLast(GHOSTS, ghost);
+		}
+		return slot;
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to put the frame a page was loaded into at the top of S. The page becomes a LIR page if it
+	 * 					was found in S or there is still room for LIR pages, and a HIR page at the back of Q otherwise.
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page loaded
+	 */
+	@Override
+	public void onFault(int slot, int page) {
+		int ghost = promote ? -1 : ghosts.find(page);						//Remembered but loaded into a free frame
+		if (ghost >= 0) {
+			forget(ghost);
+			promote = true;
+		}
+		pages[slot] = page;
+		lir[slot] = false;
+		stack.addFirst(STACK, slot);
+		if (promote || lirCount < lirLimit)
+			setLIR(slot);
+		else
+			queues.addLast(QUEUE, slot);
+		promote = false;
+	}
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to take a freed frame out of S and Q. A LIR page leaves room for another LIR page.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	@Override
+	public void onRemove(int slot) {
+		if (lir[slot]) {
+			lir[slot] = false;
+			lirCount--;
+		}
+		stack.remove(slot);
+		queues.remove(slot);
+		prune();
+	}
+
+	/**
+	 * Method setLIR
+	 * Purpose:			Used to make the page in a frame a LIR page, turning the oldest LIR page into a HIR page at the
+	 * 					back of Q if there are then too many.
+	 * Precondition:	The frame must be at the top of S and not in Q.
+	 * Parameters:		@param slot the slot of the frame
+	 */
+	private void setLIR(int slot) {
+		lir[slot] = true;
+		lirCount++;
+		if (lirCount > lirLimit) {
+			int oldest = stack.getLast(STACK);
+			lir[oldest] = false;
+			lirCount--;
+			stack.remove(oldest);
+			queues.addLast(QUEUE, oldest);
+			prune();
+		}
+	}
+
+	/**
+	 * Method prune
+	 * Purpose:			Used to remove the HIR pages and ghost entries from the bottom of S, so the oldest page in S is
+	 * 					always a LIR page. Resident HIR pages stay in Q.
+	 */
+	private void prune() {
+		int node = stack.getLast(STACK);
+		while (node >= 0 && (ghosts.isGhost(node) || !lir[node])) {
+			if (ghosts.isGhost(node))
+				forget(node);
+			else
+				stack.remove(node);
+			node = stack.getLast(STACK);
+		}
+	}
+
+	/**
+	 * Method forget
+	 * Purpose:			Used to remove a ghost entry from S, the age order and the ghost table.
+	 * Parameters:		@param ghost the node of the entry
+	 */
+	private void forget(int ghost) {
+		stack.remove(ghost);
+		queues.remove(ghost);
+		ghosts.remove(ghost);
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the LIR pages, the stack and the queues to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		out.writeInt(lirCount);
+		Checkpoint.writeBooleans(out, lir);
+		Checkpoint.writeInts(out, pages);
+		stack.writeState(out);
+		queues.writeState(out);
+		ghosts.writeState(out);
+		out.writeBoolean(promote);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the LIR pages, the stack and the queues with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		lirCount = in.readInt();
+		Checkpoint.readBooleans(in, lir);
+		Checkpoint.readInts(in, pages);
+		stack.readState(in);
+		queues.readState(in);
+		ghosts.readState(in);
+		promote = in.readBoolean();
+	}
+}
@@ -0,0 +1,98 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			LRUPolicy
+ * Purpose:			The Least Recently Used (LRU) replacement policy, which replaces the frame whose page was used
+ * 					longest ago.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class LRUPolicy implements ReplacementPolicy {
+	private RecencyList recency;		//The order the frames were used in
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frames of the process
+	 */
+	public LRUPolicy(int frames) {
+		this.recency = new RecencyList(frames);
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to move the frame holding a page that was just used to the front of the LRU order.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	@Override
+	public void onHit(int slot) {
+		recency.touch(slot);
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to move the frames used by a run of hits to the front, in the order each was last used.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	@Override
+	public void onHits(int[] slots, int count, int cursor) {
+		recency.touchAll(slots, count);
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to choose the least recently used frame.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	@Override
+	public int chooseVictim(int page) {
+		return recency.getLeastRecent();
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to make the frame a page was loaded into the most recently used frame.
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page loaded
+	 */
+	@Override
+	public void onFault(int slot, int page) {
+		recency.touch(slot);
+	}
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to take a freed frame out of the LRU order.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	@Override
+	public void onRemove(int slot) {
+		recency.remove(slot);
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the order the frames were used in to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		recency.writeState(out);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the order the frames were used in with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		recency.readState(in);
+	}
+}
@@ -0,0 +1,135 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			LongList
+ * Purpose:			A growable list of primitive longs, used where a list of boxed longs would create an object for every
+ * 					value, such as the times a process has a page fault.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class LongList implements Checkpointable {
+	private long[] values;				//The values in the list, followed by unused space
+	private int size;					//The number of values in the list
+
+	/**
+	 * Constructor with no parameters to initialize all variables.
+	 */
+	public LongList() {
+		this(8);
+	}
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param capacity the number of values the list can hold before it grows
+	 */
+	public LongList(int capacity) {
+		this.values = new long[Math.max(capacity, 1)];
+		this.size = 0;
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add a value to the end of the list.
+	 * Postcondition:	The list grows by half again if it is full and the value is added
+	 * Parameters:		@param value the value to add
+	 */
+	public void add(long value) {
+		if (size == values.length)
+			values = Arrays.copyOf(values, size + (size >> 1) + 1);
+		values[size++] = value;
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to return the value at a position in the list.
+	 * Postcondition:	Returns the value
+	 * Parameters:		@param index the position of the value
+	 * Return:			@return the value
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " is outside a list of size " + size + ".");
+		return values[index];
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of values in the list.
+	 * Postcondition:	Returns the size
+	 * Return:			@return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method isEmpty
+	 * Purpose:			Used to determine whether the list has any values.
+	 * Postcondition:	Returns true if there are no values
+	 * Return:			@return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Method clear
+	 * Purpose:			Used to remove every value from the list while keeping its space.
+	 * Postcondition:	The list is empty
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Method removeFirst
+	 * Purpose:			Used to remove values from the front of the list, such as the oldest of a list kept to a bound.
+	 * Postcondition:	The values after those removed are moved to the front
+	 * Parameters:		@param count the number of values to remove, at most the size
+	 */
+	public void removeFirst(int count) {
+		count = Math.min(Math.max(count, 0), size);
+		System.arraycopy(values, count, values, 0, size - count);
+		size -= count;
+	}
+
+	/**
+	 * Method toArray
+	 * Purpose:			Used to copy the values into an array of their exact size.
+	 * Postcondition:	Returns a new array holding the values
+	 * Return:			@return the values
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the values of the list to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		out.writeInt(size);
+		for (int i = 0; i < size; i++)
+			out.writeLong(values[i]);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the values of the list with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		size = in.readInt();
+		values = new long[Math.max(size, 16)];
+		for (int i = 0; i < size; i++)
+			values[i] = in.readLong();
+	}
+}
@@ -0,0 +1,258 @@
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Class:			Metrics
+ * Purpose:			Counts what happens while a CPU runs: hits, faults, dispatches, context switches, quantum expiries,
+ * 					idle ticks, and histograms of the queue depths and of the references run on each dispatch. A
+ * 					snapshot is given to a listener every interval of simulated time and once more at the end, and the
+ * 					faults and dispatches are recorded as Java Flight Recorder events when a recording enables them. The
+ * 					queue depths are weighted by the ticks they held, so skipping ticks gives the same histograms as
+ * 					stepping through each one. The counters and histograms are striped, and the last snapshot is
+ * 					volatile, so only those and snapshot may be read from another thread while the simulation runs.
+ * 					Everything else is used by the simulation thread alone. A CPU without metrics only tests a null
+ * 					field at each point, so this costs nothing when unused.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Metrics {
+	private static final int BUCKETS = 16;	//The buckets of each histogram, so the last holds values from 16384
+
+	private String policy;					//The name of the replacement algorithm
+	private int interval;					//The simulated time between snapshots
+	private Consumer<MetricsSnapshot> listener;	//Receives each snapshot, or null to only take them on request
+	private LongAdder hits;					//The references found in main memory
+	private LongAdder faults;				//The page faults
+	private LongAdder dispatches;			//The times a process was given the CPU
+	private LongAdder contextSwitches;		//The dispatches of a different process than the one before
+	private LongAdder quantumExpiries;		//The times a process was interrupted by the time quantum
+	private LongAdder idleTicks;			//The ticks with nothing to run
+	private Histogram readyDepth;			//The ready queue depth at each tick
+	private Histogram blockedDepth;			//The blocked queue depth at each tick
+	private Histogram burst;				//The references run on each dispatch
+	private Process running;				//The process last given the CPU
+	private long runLength;					//The references run since the last dispatch
+	private long nextSnapshot;				//The time of the next snapshot
+	private volatile MetricsSnapshot last;	//The last snapshot taken
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param interval the simulated time between snapshots, or zero for only the final snapshot
+	 * 				@param listener receives each snapshot, or null
+	 */
+	public Metrics(int interval, Consumer<MetricsSnapshot> listener) {
+		if (interval < 0)
+			throw new IllegalArgumentException("The interval between snapshots cannot be negative.");
+		this.interval = interval;
+		this.listener = listener;
+		this.policy = "";
+		this.hits = new LongAdder();
+		this.faults = new LongAdder();
+		this.dispatches = new LongAdder();
+		this.contextSwitches = new LongAdder();
+		this.quantumExpiries = new LongAdder();
+		this.idleTicks = new LongAdder();
+		this.readyDepth = new Histogram(BUCKETS);
+		this.blockedDepth = new Histogram(BUCKETS);
+		this.burst = new Histogram(BUCKETS);
+		this.nextSnapshot = interval == 0 ? Long.MAX_VALUE : interval;
+	}
+
+	/**
+	 * Method setPolicy
+	 * Purpose:			Used by the CPU to name the replacement algorithm in the snapshots and events.
+	 * Parameters:		@param policy the name
+	 */
+	public void setPolicy(String policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Method onTick
+	 * Purpose:			Used to record the queue depths of a stretch of ticks that ends now, during which they did not
+	 * 					change, so ticks the simulation skips are counted as if it stepped through them.
+	 * Postcondition:	A snapshot is taken if the interval has passed
+	 * Parameters:		@param time the current time, the last tick of the stretch
+	 * 					@param ready the processes in the ready queue
+	 * 					@param blocked the processes in the blocked queue
+	 * 					@param ticks the ticks in the stretch
+	 */
+	public void onTick(long time, int ready, int blocked, long ticks) {
+		readyDepth.record(ready, ticks);
+		blockedDepth.record(blocked, ticks);
+		if (time >= nextSnapshot) {
+			publish(time, ready, blocked);
+			nextSnapshot = time - time % interval + interval;
+		}
+	}
+
+	/**
+	 * Method onIdle
+	 * Purpose:			Used to count ticks with nothing to run, including those skipped by the discrete event simulation.
+	 * Parameters:		@param ticks the idle ticks
+	 */
+	public void onIdle(long ticks) {
+		idleTicks.add(ticks);
+	}
+
+	/**
+	 * Method onDispatch
+	 * Purpose:			Used to count a process being given the CPU.
+	 * Postcondition:	It is a context switch if another process had the CPU before
+	 * Parameters:		@param process the process
+	 * 					@param time the current time
+	 * 					@param ready the processes left in the ready queue
+	 */
+	public void onDispatch(Process process, long time, int ready) {
+		boolean contextSwitch = running != null && running != process;
+		dispatches.increment();
+		if (contextSwitch)
+			contextSwitches.increment();
+		if (running != null)
+			burst.record(runLength);
+		running = process;
+		runLength = 0;
+		DispatchEvent event = new DispatchEvent();
+		if (event.isEnabled()) {
+			event.policy = policy;
+			event.process = process.getID();
+			event.time = time;
+			event.contextSwitch = contextSwitch;
+			event.readyDepth = ready;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to count a reference found in main memory.
+	 */
+	public void onHit() {
+		onHits(1);
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to count a run of references found in main memory, executed one a tick.
+	 * Parameters:		@param count the references
+	 */
+	public void onHits(long count) {
+		hits.add(count);
+		runLength += count;
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to count a page fault.
+	 * Parameters:		@param process the process that faulted
+	 * 					@param page the page referenced
+	 * 					@param time the current time
+	 */
+	public void onFault(Process process, int page, long time) {
+		faults.increment();
+		PageFaultEvent event = new PageFaultEvent();
+		if (event.isEnabled()) {
+			event.policy = policy;
+			event.process = process.getID();
+			event.page = page;
+			event.time = time;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Method onLoad
+	 * Purpose:			Used to count the reference that faulted being run once its page is loaded.
+	 */
+	public void onLoad() {
+		runLength++;
+	}
+
+	/**
+	 * Method onQuantumExpiry
+	 * Purpose:			Used to count a process being interrupted by the time quantum.
+	 */
+	public void onQuantumExpiry() {
+		quantumExpiries.increment();
+	}
+
+	/**
+	 * Method finish
+	 * Purpose:			Used to take the final snapshot once the simulation ends.
+	 * Parameters:		@param time the time the simulation ended
+	 */
+	public void finish(long time) {
+		if (running != null)
+			burst.record(runLength);
+		running = null;
+		publish(time, 0, 0);
+	}
+
+	/**
+	 * Method getNextSnapshot
+	 * Purpose:			Used to return the time of the next snapshot, so a simulation skipping ticks can stop there.
+	 * Return:			@return the time, or Long.MAX_VALUE if only the final snapshot is taken
+	 */
+	public long getNextSnapshot() {
+		return nextSnapshot;
+	}
+
+	/**
+	 * Method snapshot
+	 * Purpose:			Used to take a snapshot of the counters now, which may be from another thread.
+	 * Parameters:		@param time the time to label the snapshot with
+	 * Return:			@return the snapshot, with its window starting at the last snapshot published
+	 */
+	public MetricsSnapshot snapshot(long time) {
+		return new MetricsSnapshot(policy, time, counts(), last, 0, 0);
+	}
+
+	/**
+	 * Method getReadyDepth
+	 * Purpose:			Used to return the histogram of the depth of the ready queue at each tick.
+	 * Return:			@return the histogram
+	 */
+	public Histogram getReadyDepth() {
+		return readyDepth;
+	}
+
+	/**
+	 * Method getBlockedDepth
+	 * Purpose:			Used to return the histogram of the depth of the blocked queue at each tick.
+	 * Return:			@return the histogram
+	 */
+	public Histogram getBlockedDepth() {
+		return blockedDepth;
+	}
+
+	/**
+	 * Method getBurst
+	 * Purpose:			Used to return the histogram of the references executed each time a process is dispatched.
+	 * Return:			@return the histogram
+	 */
+	public Histogram getBurst() {
+		return burst;
+	}
+
+	/**
+	 * Method publish
+	 * Purpose:			Used to take a snapshot and give it to the listener.
+	 * Parameters:		@param time the current time
+	 * 					@param ready the processes in the ready queue
+	 * 					@param blocked the processes in the blocked queue
+	 */
+	private void publish(long time, int ready, int blocked) {
+		last = new MetricsSnapshot(policy, time, counts(), last, ready, blocked);
+		if (listener != null)
+			listener.accept(last);
+	}
+
+	/**
+	 * Method counts
+	 * Purpose:			Used to read the counters in the order a snapshot takes them.
+	 * Return:			@return the counts
+	 */
+	private long[] counts() {
+		return new long[] { hits.sum(), faults.sum(), dispatches.sum(), contextSwitches.sum(), quantumExpiries.sum(), idleTicks.sum() };
+	}
+}
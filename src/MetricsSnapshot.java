@@ -0,0 +1,87 @@
+/**
+ * Class:			MetricsSnapshot
+ * Purpose:			The counters of a simulation at one simulated time, both since the start and over the window since
+ * 					the snapshot before it, so a rise in the faults of a window shows a thrashing phase. A snapshot is
+ * 					never changed once taken.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class MetricsSnapshot {
+	public static final String HEADER = "policy,time,hits,faults,dispatches,context switches,quantum expiries,idle ticks,"
+			+ "window ticks,window hits,window faults,window hit ratio,ready depth,blocked depth";	//The CSV columns
+
+	private String policy;					//The name of the replacement algorithm
+	private long time;						//The simulated time of the snapshot
+	private long hits;						//The references found in main memory
+	private long faults;					//The page faults
+	private long dispatches;				//The times a process was given the CPU
+	private long contextSwitches;			//The dispatches of a different process than the one before
+	private long quantumExpiries;			//The times a process was interrupted by the time quantum
+	private long idleTicks;					//The ticks with nothing to run
+	private long windowTicks;				//The ticks since the snapshot before
+	private long windowHits;				//The hits since the snapshot before
+	private long windowFaults;				//The faults since the snapshot before
+	private int readyDepth;					//The processes in the ready queue
+	private int blockedDepth;				//The processes in the blocked queue
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param policy the name of the replacement algorithm
+	 * 				@param time the simulated time
+	 * 				@param counts the hits, faults, dispatches, context switches, quantum expiries and idle ticks
+	 * 				@param previous the snapshot before, or null for the first
+	 * 				@param readyDepth the processes in the ready queue
+	 * 				@param blockedDepth the processes in the blocked queue
+	 */
+	public MetricsSnapshot(String policy, long time, long[] counts, MetricsSnapshot previous, int readyDepth, int blockedDepth) {
+		this.policy = policy;
+		this.time = time;
+		this.hits = counts[0];
+		this.faults = counts[1];
+		this.dispatches = counts[2];
+		this.contextSwitches = counts[3];
+		this.quantumExpiries = counts[4];
+		this.idleTicks = counts[5];
+		this.windowTicks = previous == null ? time : time - previous.time;
+		this.windowHits = previous == null ? hits : hits - previous.hits;
+		this.windowFaults = previous == null ? faults : faults - previous.faults;
+		this.readyDepth = readyDepth;
+		this.blockedDepth = blockedDepth;
+	}
+
+	public String getPolicy() { return policy; }					//Returns the name of the replacement algorithm
+	public long getTime() { return time; }							//Returns the simulated time
+	public long getHits() { return hits; }							//Returns the hits since the start
+	public long getFaults() { return faults; }						//Returns the faults since the start
+	public long getDispatches() { return dispatches; }				//Returns the dispatches since the start
+	public long getContextSwitches() { return contextSwitches; }	//Returns the context switches since the start
+	public long getQuantumExpiries() { return quantumExpiries; }	//Returns the quantum expiries since the start
+	public long getIdleTicks() { return idleTicks; }				//Returns the idle ticks since the start
+	public long getWindowTicks() { return windowTicks; }			//Returns the ticks since the snapshot before
+	public long getWindowHits() { return windowHits; }				//Returns the hits since the snapshot before
+	public long getWindowFaults() { return windowFaults; }			//Returns the faults since the snapshot before
+	public int getReadyDepth() { return readyDepth; }				//Returns the processes in the ready queue
+	public int getBlockedDepth() { return blockedDepth; }			//Returns the processes in the blocked queue
+
+	/**
+	 * Method getWindowHitRatio
+	 * Purpose:			Used to return the share of the references since the snapshot before found in main memory.
+	 * Return:			@return the hit ratio, or one if nothing was referenced
+	 */
+	public double getWindowHitRatio() {
+		long references = windowHits + windowFaults;
+		return references == 0 ? 1 : (double) windowHits / references;
+	}
+
+	/**
+	 * Method toString
+	 * Purpose:			Used to convert the snapshot into a line in the columns of the header.
+	 * Return:			@return the snapshot as comma separated values
+	 */
+	@Override
+	public String toString() {
+		return policy + "," + time + "," + hits + "," + faults + "," + dispatches + "," + contextSwitches + "," + quantumExpiries
+				+ "," + idleTicks + "," + windowTicks + "," + windowHits + "," + windowFaults + ","
+				+ String.format("%.4f", getWindowHitRatio()) + "," + readyDepth + "," + blockedDepth;
+	}
+}
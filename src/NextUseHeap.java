@@ -0,0 +1,155 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			NextUseHeap
+ * Purpose:			An indexed max heap of the frame slots of a process, keyed on when the page in each slot is next
+ * 					used. The slot at the top holds the page used furthest in the future, which is the victim of the
+ * 					optimal policy. Each slot records its position in the heap, so its key can be changed in O(log n).
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class NextUseHeap implements Checkpointable {
+	private int[] heap;					//The slots in heap order
+	private int[] position;				//The position of each slot in the heap, or -1 if it is not in the heap
+	private int[] nextUse;				//The time each slot's page is next used
+	private int size;					//The number of slots in the heap
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frame slots
+	 */
+	public NextUseHeap(int frames) {
+		this.heap = new int[frames];
+		this.position = new int[frames];
+		this.nextUse = new int[frames];
+		this.size = 0;
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * Method setNextUse
+	 * Purpose:			Used to set when the page in a slot is next used, adding the slot to the heap if it is not in it.
+	 * Postcondition:	The slot is moved to its place in the heap
+	 * Parameters:		@param slot the frame slot
+	 * 					@param time the position in the trace of the next use, or Integer.MAX_VALUE if it is not used again
+	 */
+	public void setNextUse(int slot, int time) {
+		if (position[slot] < 0) {
+			heap[size] = slot;
+			position[slot] = size++;
+			nextUse[slot] = time;
+			siftUp(position[slot]);
+		}
+		else if (time > nextUse[slot]) {
+			nextUse[slot] = time;
+			siftUp(position[slot]);
+		}
+		else {
+			nextUse[slot] = time;
+			siftDown(position[slot]);
+		}
+	}
+
+	/**
+	 * Method getFurthest
+	 * Purpose:			Used to return the slot whose page is used furthest in the future.
+	 * Precondition:	The heap must not be empty.
+	 * Postcondition:	Returns the top of the heap
+	 * Return:			@return the slot to replace
+	 */
+	public int getFurthest() {
+		return heap[0];
+	}
+
+	/**
+	 * Method getNextUse
+	 * Purpose:			Used to return when the page in a slot is next used.
+	 * Parameters:		@param slot the frame slot
+	 * Return:			@return the position in the trace of the next use
+	 */
+	public int getNextUse(int slot) {
+		return nextUse[slot];
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of slots in the heap.
+	 * Return:			@return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method siftUp
+	 * Purpose:			Used to move a slot towards the top of the heap while it is used later than its parent.
+	 * Parameters:		@param index the position of the slot
+	 */
+	private void siftUp(int index) {
+		int slot = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (nextUse[heap[parent]] >= nextUse[slot])
+				break;
+			heap[index] = heap[parent];
+			position[heap[index]] = index;
+			index = parent;
+		}
+		heap[index] = slot;
+		position[slot] = index;
+	}
+
+	/**
+	 * Method siftDown
+	 * Purpose:			Used to move a slot towards the bottom of the heap while a child is used later than it.
+	 * Parameters:		@param index the position of the slot
+	 */
+	private void siftDown(int index) {
+		int slot = heap[index];
+		while (true) {
+			int child = index * 2 + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && nextUse[heap[child + 1]] > nextUse[heap[child]])
+				child++;
+			if (nextUse[heap[child]] <= nextUse[slot])
+				break;
+			heap[index] = heap[child];
+			position[heap[index]] = index;
+			index = child;
+		}
+		heap[index] = slot;
+		position[slot] = index;
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the slots of the heap to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		Checkpoint.writeInts(out, heap);
+		Checkpoint.writeInts(out, position);
+		Checkpoint.writeInts(out, nextUse);
+		out.writeInt(size);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the slots of the heap with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		Checkpoint.readInts(in, heap);
+		Checkpoint.readInts(in, position);
+		Checkpoint.readInts(in, nextUse);
+		size = in.readInt();
+	}
+}
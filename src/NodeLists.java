@@ -0,0 +1,227 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			NodeLists
+ * Purpose:			A fixed number of intrusive doubly linked lists sharing one set of nodes, numbered from zero. A node
+ * 					is in at most one of the lists at a time. The links are stored in primitive arrays allocated once,
+ * 					so adding, removing and moving a node are O(1) and never allocate. Each list is circular around a
+ * 					sentinel stored after the last node. The replacement policies use the frame slots and ghost entries
+ * 					as nodes, with the first node of a list being the most recent.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class NodeLists implements Checkpointable {
+	private int[] next;					//The node after each node, towards the last node of its list
+	private int[] previous;				//The node before each node, towards the first node of its list
+	private int[] owner;				//The list each node is in, or -1 if it is in no list
+	private int[] sizes;				//The number of nodes in each list
+	private int nodes;					//The number of nodes, which is also the index of the first sentinel
+	private int[] marks;				//The batch each node was last seen in by moveAllToFirst, created when first needed
+	private int[] order;				//The distinct nodes of a batch, from the last moved, created when first needed
+	private int batch;					//The number of the current batch of moveAllToFirst
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param nodes the number of nodes
+	 * 				@param lists the number of lists
+	 */
+	public NodeLists(int nodes, int lists) {
+		this.next = new int[nodes + lists];
+		this.previous = new int[nodes + lists];
+		this.owner = new int[nodes];
+		this.sizes = new int[lists];
+		this.nodes = nodes;
+		Arrays.fill(owner, -1);
+		for (int list = 0; list < lists; list++) {
+			next[nodes + list] = nodes + list;
+			previous[nodes + list] = nodes + list;
+		}
+	}
+
+	/**
+	 * Method addFirst
+	 * Purpose:			Used to add a node to the front of a list.
+	 * Precondition:	The node must not be in a list.
+	 * Parameters:		@param list the list
+	 * 					@param node the node
+	 */
+	public void addFirst(int list, int node) {
+		link(list, node, nodes + list, next[nodes + list]);
+	}
+
+	/**
+	 * Method addLast
+	 * Purpose:			Used to add a node to the back of a list.
+	 * Precondition:	The node must not be in a list.
+	 * Parameters:		@param list the list
+	 * 					@param node the node
+	 */
+	public void addLast(int list, int node) {
+		link(list, node, previous[nodes + list], nodes + list);
+	}
+
+	/**
+	 * Method moveToFirst
+	 * Purpose:			Used to move a node to the front of a list, taking it out of any list it is in first.
+	 * Parameters:		@param list the list
+	 * 					@param node the node
+	 */
+	public void moveToFirst(int list, int node) {
+		remove(node);
+		addFirst(list, node);
+	}
+
+	/**
+	 * Method moveAllToFirst
+	 * Purpose:			Used to move nodes to the front of a list one after another, such as the frames of a run of hits.
+	 * Postcondition:	The lists are as if each node had been moved in turn, but each distinct node is only moved
+	 * 					once, in the order of its last move. Nodes that are not in the list they must be in are skipped.
+	 * Parameters:		@param list the list the nodes are moved to
+	 * 					@param moved the nodes, from the first moved to the last
+	 * 					@param offset the position of the first node
+	 * 					@param count the number of nodes
+	 * 					@param from the list a node must be in to be moved, or -1 to move nodes from any list
+	 */
+	public void moveAllToFirst(int list, int[] moved, int offset, int count, int from) {
+		if (marks == null) {
+			marks = new int[nodes];
+			order = new int[nodes];
+		}
+		if (++batch == 0) {
+			Arrays.fill(marks, 0);
+			batch = 1;
+		}
+		int distinct = 0;
+		for (int i = offset + count - 1; i >= offset; i--) {
+			int node = moved[i];
+			if (marks[node] != batch) {
+				marks[node] = batch;
+				if (from < 0 || owner[node] == from)
+					order[distinct++] = node;
+			}
+		}
+		for (int i = distinct - 1; i >= 0; i--)
+			moveToFirst(list, order[i]);
+	}
+
+	/**
+	 * Method replace
+	 * Purpose:			Used to put a node in the place of another in its list.
+	 * Precondition:	The node being replaced must be in a list and the new node must not be.
+	 * Postcondition:	The replaced node is in no list.
+	 * Parameters:		@param node the node to replace
+	 * 					@param with the node to put in its place
+	 */
+	public void replace(int node, int with) {
+		int list = owner[node];
+		int before = previous[node];
+		remove(node);
+		link(list, with, before, next[before]);
+	}
+
+	/**
+	 * Method remove
+	 * Purpose:			Used to take a node out of its list.
+	 * Postcondition:	The node is in no list. Nothing happens if it was in none.
+	 * Parameters:		@param node the node
+	 */
+	public void remove(int node) {
+		int list = owner[node];
+		if (list < 0)
+			return;
+		next[previous[node]] = next[node];
+		previous[next[node]] = previous[node];
+		owner[node] = -1;
+		sizes[list]--;
+	}
+
+	/**
+	 * Method getFirst
+	 * Purpose:			Used to return the node at the front of a list.
+	 * Parameters:		@param list the list
+	 * Return:			@return the first node, or -1 if the list is empty
+	 */
+	public int getFirst(int list) {
+		int node = next[nodes + list];
+		return node == nodes + list ? -1 : node;
+	}
+
+	/**
+	 * Method getLast
+	 * Purpose:			Used to return the node at the back of a list.
+	 * Parameters:		@param list the list
+	 * Return:			@return the last node, or -1 if the list is empty
+	 */
+	public int getLast(int list) {
+		int node = previous[nodes + list];
+		return node == nodes + list ? -1 : node;
+	}
+
+	/**
+	 * Method getList
+	 * Purpose:			Used to return the list a node is in.
+	 * Parameters:		@param node the node
+	 * Return:			@return the list, or -1 if the node is in no list
+	 */
+	public int getList(int node) {
+		return owner[node];
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of nodes in a list.
+	 * Parameters:		@param list the list
+	 * Return:			@return the size of the list
+	 */
+	public int size(int list) {
+		return sizes[list];
+	}
+
+	/**
+	 * Method link
+	 * Purpose:			Used to link a node into a list between two neighbouring nodes or sentinels.
+	 * Parameters:		@param list the list
+	 * 					@param node the node
+	 * 					@param before the node or sentinel to go after
+	 * 					@param after the node or sentinel to go before
+	 */
+	private void link(int list, int node, int before, int after) {
+		next[node] = after;
+		previous[node] = before;
+		next[before] = node;
+		previous[after] = node;
+		owner[node] = list;
+		sizes[list]++;
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the nodes of every list to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		Checkpoint.writeInts(out, next);
+		Checkpoint.writeInts(out, previous);
+		Checkpoint.writeInts(out, owner);
+		Checkpoint.writeInts(out, sizes);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the nodes of every list with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		Checkpoint.readInts(in, next);
+		Checkpoint.readInts(in, previous);
+		Checkpoint.readInts(in, owner);
+		Checkpoint.readInts(in, sizes);
+	}
+}
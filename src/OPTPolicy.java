@@ -0,0 +1,116 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			OPTPolicy
+ * Purpose:			Belady's optimal (OPT) replacement policy, which replaces the frame whose page is next used furthest
+ * 					in the future. It cannot be used by a real system, but gives the fewest faults possible. The next
+ * 					use of every reference is found in one backward pass over the trace, and the frames are kept in a
+ * 					max heap keyed on the next use of their pages, so each replacement is O(log frames). The whole trace
+ * 					must be in memory.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class OPTPolicy implements ReplacementPolicy {
+	private static final int NEVER = Integer.MAX_VALUE;		//The next use of a page that is not used again
+	private Trace trace;									//The trace being executed, giving the current reference
+	private int[] nextUses;									//The position of the next use of each reference
+	private NextUseHeap heap;								//The frames ordered by the next use of their pages
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param process the process the policy replaces the pages of
+	 */
+	public OPTPolicy(Process process) {
+		this.trace = process.getTrace();
+		if (!(trace instanceof ArrayTrace))
+			throw new IllegalStateException("The optimal policy needs the whole trace of process " + process.getID() + " in memory.");
+		this.nextUses = new int[trace.length()];
+		this.heap = new NextUseHeap(process.getFrames().length);
+		PageTable seen = new PageTable(64);						//The position each page was seen at, going backwards
+		for (int i = nextUses.length - 1; i >= 0; i--) {
+			int later = seen.get(trace.get(i));
+			nextUses[i] = later < 0 ? NEVER : later;
+			seen.put(trace.get(i), i);
+		}
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to move the frame holding a page that was just used to its next use in the heap.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	@Override
+	public void onHit(int slot) {
+		heap.setNextUse(slot, nextUses[trace.getCursor()]);
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to move the frames used by a run of hits to their next uses, reading the next uses from the
+	 * 					positions of the run rather than the cursor, which has already moved past it.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	@Override
+	public void onHits(int[] slots, int count, int cursor) {
+		for (int i = 0; i < count; i++)
+			heap.setNextUse(slots[i], nextUses[cursor + i]);
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to choose the frame whose page is next used furthest in the future.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	@Override
+	public int chooseVictim(int page) {
+		return heap.getFurthest();
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to key the frame a page was loaded into on the next use of the page.
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page loaded
+	 */
+	@Override
+	public void onFault(int slot, int page) {
+		heap.setNextUse(slot, nextUses[trace.getCursor()]);
+	}
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to record that a frame was freed. Nothing needs to change, as the frame is loaded again,
+	 * 					keying it on its new page, before the next victim is chosen.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	@Override
+	public void onRemove(int slot) {
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the next uses of the frames to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		heap.writeState(out);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the next uses of the frames with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		heap.readState(in);
+	}
+}
@@ -0,0 +1,383 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class:			OnlineSimulator
+ * Purpose:			Runs a CPU on references pushed to it as they arrive, such as from a pipe or socket fed by a running
+ * 					program, rather than on traces read in full before the run. Processes are registered and then fed
+ * 					their references one at a time or in batches, and the simulation moves forward whenever every open
+ * 					process has a reference waiting beyond the one it would execute next, so the results match a run
+ * 					of the whole traces. The faults and turnaround times can be read at any point. Each process holds
+ * 					only a small buffer of references and a bounded number of fault times, so the memory used does not
+ * 					grow with the length of the run, as long as no open process is left without references for long.
+ * 					Every method is synchronized, so references may be pushed and results read by different threads.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class OnlineSimulator {
+	private static final int DEFAULT_CAPACITY = 4096;	//The references buffered for each process unless given
+	private static final int DEFAULT_FAULT_TIMES = 4096;	//The fault times kept for each process unless given
+	private CPU<Process> cpu;				//The CPU being run
+	private int frames;						//The frames given to each process
+	private int maxProcesses;				//The most processes that can be registered
+	private int capacity;					//The references buffered for each process before it grows
+	private int faultTimes;					//The latest fault times kept for each process, or -1 to keep all
+	private Map<Integer, Feed> feeds;		//The references of each registered process, by ID
+	private int starved;					//The number of open processes without a reference beyond their next
+
+	/**
+	 * Constructor with parameters to create a simulator with the default buffers.
+	 * Parameters:	@param cpu the CPU to run, which must not have been run
+	 * 				@param frames the frames of each process under fixed allocation, or of the shared pool otherwise
+	 * 				@param maxProcesses the most processes that can be registered
+	 */
+	public OnlineSimulator(CPU<Process> cpu, int frames, int maxProcesses) {
+		this(cpu, frames, maxProcesses, DEFAULT_CAPACITY, DEFAULT_FAULT_TIMES);
+	}
+
+	/**
+	 * Constructor with parameters to initialize all variables. The CPU executes one reference at a time, as a run of
+	 * hits could otherwise use references that have not yet arrived.
+	 * Parameters:	@param cpu the CPU to run, which must not have been run
+	 * 				@param frames the frames of each process under fixed allocation, or of the shared pool otherwise
+	 * 				@param maxProcesses the most processes that can be registered
+	 * 				@param capacity the references buffered for each process before it grows
+	 * 				@param faultTimes the latest fault times kept for each process, or -1 to keep all
+	 */
+	public OnlineSimulator(CPU<Process> cpu, int frames, int maxProcesses, int capacity, int faultTimes) {
+		if (cpu instanceof CPUOPT)
+			throw new IllegalArgumentException("The optimal policy needs the whole trace, so it cannot be run online.");
+		if (frames < 1 || maxProcesses < 1 || capacity < 2)
+			throw new IllegalArgumentException("The frames and processes must be at least one, and the buffer at least two references.");
+		this.cpu = cpu;
+		this.frames = frames;
+		this.maxProcesses = maxProcesses;
+		this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+		this.faultTimes = faultTimes;
+		this.feeds = new HashMap<Integer, Feed>();
+		this.starved = 0;
+		cpu.setBatched(false);
+		cpu.setAllocation(cpu.getAllocation(), frames);
+		cpu.open(maxProcesses);
+	}
+
+	/**
+	 * Method register
+	 * Purpose:			Used to add a process, which is then fed its references by push.
+	 * Postcondition:	The process joins the simulation at the current time. Processes registered before any of them
+	 * 					can run are simulated as if they had been run together from the start.
+	 * Parameters:		@param id the ID of the process
+	 * 					@param name the name of the process
+	 */
+	public synchronized void register(int id, String name) {
+		if (feeds.containsKey(id))
+			throw new IllegalArgumentException("Process " + id + " is already registered.");
+		if (feeds.size() == maxProcesses)
+			throw new IllegalStateException("No more than " + maxProcesses + " processes can be registered.");
+		Feed feed = new Feed();
+		feed.process = new Process(id, name, frames, feed);
+		feeds.put(id, feed);
+		starved++;
+		cpu.add(feed.process);
+	}
+
+	/**
+	 * Method push
+	 * Purpose:			Used to give a process the next page it references.
+	 * Postcondition:	The simulation moves forward as far as the references that have arrived allow. The buffer of
+	 * 					the process only grows if it is full while the simulation waits for another process.
+	 * Parameters:		@param id the ID of the process
+	 * 					@param page the page number referenced
+	 */
+	public synchronized void push(int id, int page) {
+		Feed feed = find(id);
+		if (feed.count == feed.buffer.length)
+			advance();
+		feed.add(page);
+		advance();
+		if (faultTimes >= 0 && feed.process.getFaultTimes().size() > 2 * faultTimes)
+			feed.process.trimFaultTimes(faultTimes);
+	}
+
+	/**
+	 * Method push
+	 * Purpose:			Used to give a process the next pages it references.
+	 * Postcondition:	The simulation moves forward as far as the references that have arrived allow
+	 * Parameters:		@param id the ID of the process
+	 * 					@param pages the array of page numbers
+	 * 					@param offset the position of the first page number
+	 * 					@param count the number of page numbers
+	 */
+	public synchronized void push(int id, int[] pages, int offset, int count) {
+		for (int i = 0; i < count; i++)
+			push(id, pages[offset + i]);
+	}
+
+	/**
+	 * Method close
+	 * Purpose:			Used to say that a process will reference no more pages.
+	 * Postcondition:	The process finishes once its buffered references are executed
+	 * Parameters:		@param id the ID of the process
+	 */
+	public synchronized void close(int id) {
+		find(id).close();
+		advance();
+	}
+
+	/**
+	 * Method finish
+	 * Purpose:			Used to close every process and run the simulation to completion.
+	 * Postcondition:	Every process has finished and the metrics of the CPU, if any, are finished
+	 */
+	public synchronized void finish() {
+		for (Feed feed : feeds.values()) {
+			if (!feed.closed)
+				feed.close();
+		}
+		advance();
+		if (cpu.getMetrics() != null)
+			cpu.getMetrics().finish(cpu.getCurrentTime() + 1);
+	}
+
+	/**
+	 * Method advance
+	 * Purpose:			Used to move the simulation forward while no open process could need a reference that has not
+	 * 					arrived. As each step executes at most one reference of a process and looks one beyond it, two
+	 * 					buffered references are enough for any step.
+	 * Postcondition:	Some open process has fewer than two buffered references, or every process has finished
+	 */
+	private void advance() {
+		while (starved == 0 && cpu.step())
+			;
+	}
+
+	/**
+	 * Method find
+	 * Purpose:			Used to find the references of a registered process that is still open.
+	 * Parameters:		@param id the ID of the process
+	 * Return:			@return the references of the process
+	 */
+	private Feed find(int id) {
+		Feed feed = feeds.get(id);
+		if (feed == null)
+			throw new IllegalArgumentException("Process " + id + " is not registered.");
+		if (feed.closed)
+			throw new IllegalStateException("Process " + id + " has been closed.");
+		return feed;
+	}
+
+	/**
+	 * Method getTime
+	 * Purpose:			Used to return the current time of the simulation.
+	 * Return:			@return the current time
+	 */
+	public synchronized long getTime() {
+		return cpu.getCurrentTime();
+	}
+
+	/**
+	 * Method getFaults
+	 * Purpose:			Used to return the page faults of a process so far.
+	 * Parameters:		@param id the ID of the process
+	 * Return:			@return the number of page faults
+	 */
+	public synchronized long getFaults(int id) {
+		Feed feed = feeds.get(id);
+		return feed == null ? 0 : feed.process.getFaultCount();
+	}
+
+	/**
+	 * Method getFaults
+	 * Purpose:			Used to return the page faults of every process so far.
+	 * Return:			@return the number of page faults
+	 */
+	public synchronized long getFaults() {
+		long faults = 0;
+		for (Feed feed : feeds.values())
+			faults += feed.process.getFaultCount();
+		return faults;
+	}
+
+	/**
+	 * Method getReferences
+	 * Purpose:			Used to return the references a process has executed so far.
+	 * Parameters:		@param id the ID of the process
+	 * Return:			@return the number of references executed
+	 */
+	public synchronized long getReferences(int id) {
+		Feed feed = feeds.get(id);
+		return feed == null ? 0 : feed.cursor;
+	}
+
+	/**
+	 * Method getTurnAroundTime
+	 * Purpose:			Used to return the turnaround time of a process.
+	 * Parameters:		@param id the ID of the process
+	 * Return:			@return the turnaround time, or 0 if the process has not finished
+	 */
+	public synchronized long getTurnAroundTime(int id) {
+		Feed feed = feeds.get(id);
+		return feed == null ? 0 : feed.process.getTurnAroundTime();
+	}
+
+	/**
+	 * Method isFinished
+	 * Purpose:			Used to determine whether every registered process has been closed and has finished.
+	 * Return:			@return true if the simulation has finished
+	 */
+	public synchronized boolean isFinished() {
+		return cpu.isFinished();
+	}
+
+	/**
+	 * Method getCPU
+	 * Purpose:			Used to return the CPU being run, such as to report its results once finished.
+	 * Return:			@return the CPU
+	 */
+	public CPU<Process> getCPU() {
+		return cpu;
+	}
+
+	/**
+	 * Class:			Feed
+	 * Purpose:			The references of a registered process, held in a ring buffer from the next reference to execute
+	 * 					to the last that arrived. The trace only ends once the process is closed and every reference has
+	 * 					been executed. The simulator counts the open feeds with fewer than two references.
+	 */
+	private class Feed implements Trace {
+		private Process process;						//The process executing the references
+		private int[] buffer = new int[capacity];		//The references that arrived but were not executed
+		private int head;								//The position in the buffer of the next reference
+		private int count;								//The number of references in the buffer
+		private long cursor;							//The number of references executed
+		private boolean closed;							//Whether no more references will arrive
+
+		/**
+		 * Method add
+		 * Purpose:			Used to add a reference that arrived, growing the buffer if it is full.
+		 * Parameters:		@param page the page number referenced
+		 */
+		public void add(int page) {
+			boolean wasStarved = isStarved();
+			if (count == buffer.length) {
+				int[] grown = new int[buffer.length << 1];
+				for (int i = 0; i < count; i++)
+					grown[i] = buffer[(head + i) & (buffer.length - 1)];
+				buffer = grown;
+				head = 0;
+			}
+			buffer[(head + count) & (buffer.length - 1)] = page;
+			count++;
+			update(wasStarved);
+		}
+
+		/**
+		 * Method peek
+		 * Purpose:			Used to return the next reference to execute.
+		 * Return:			@return the page number
+		 * Throws:			@throws IllegalStateException if the reference has not arrived
+		 */
+		@Override
+		public int peek() {
+			if (count == 0)
+				throw new IllegalStateException("The next reference of process " + process.getID() + " has not arrived.");
+			return buffer[head];
+		}
+
+		/**
+		 * Method advance
+		 * Purpose:			Used to move past the reference that was just executed, freeing its place in the buffer.
+		 */
+		@Override
+		public void advance() {
+			boolean wasStarved = isStarved();
+			head = (head + 1) & (buffer.length - 1);
+			count--;
+			cursor++;
+			update(wasStarved);
+		}
+
+		/**
+		 * Method get
+		 * Purpose:			Used to return a reference that is still in the buffer.
+		 * Parameters:		@param index the position of the reference in the trace
+		 * Return:			@return the page number
+		 */
+		@Override
+		public int get(int index) {
+			if (index < cursor || index >= cursor + count)
+				throw new IndexOutOfBoundsException("Reference " + index + " of process " + process.getID() + " is not buffered.");
+			return buffer[(head + (int) (index - cursor)) & (buffer.length - 1)];
+		}
+
+		/**
+		 * Method isEmpty
+		 * Purpose:			Used to determine whether the process has executed its last reference.
+		 * Return:			@return true if the process is closed and its buffer is empty
+		 */
+		@Override
+		public boolean isEmpty() {
+			return closed && count == 0;
+		}
+
+		/**
+		 * Method remaining
+		 * Purpose:			Used to return the number of references in the buffer.
+		 * Return:			@return the number of references left to execute
+		 */
+		@Override
+		public int remaining() {
+			return count;
+		}
+
+		/**
+		 * Method length
+		 * Purpose:			Used to return the number of references that have arrived.
+		 * Return:			@return the number of references executed or in the buffer
+		 */
+		@Override
+		public int length() {
+			return (int) Math.min(Integer.MAX_VALUE, cursor + count);
+		}
+
+		/**
+		 * Method getCursor
+		 * Purpose:			Used to return the position of the next reference to execute.
+		 * Return:			@return the cursor
+		 */
+		@Override
+		public int getCursor() {
+			return (int) Math.min(Integer.MAX_VALUE, cursor);
+		}
+
+		/**
+		 * Method close
+		 * Purpose:			Used to mark that no more references will arrive.
+		 */
+		private void close() {
+			boolean wasStarved = isStarved();
+			closed = true;
+			update(wasStarved);
+		}
+
+		/**
+		 * Method isStarved
+		 * Purpose:			Used to determine whether the process is open without a reference beyond its next.
+		 * Return:			@return true if the simulation must wait for the process
+		 */
+		private boolean isStarved() {
+			return !closed && count < 2;
+		}
+
+		/**
+		 * Method update
+		 * Purpose:			Used to keep the count of starved processes as the feed changes.
+		 * Parameters:		@param wasStarved whether the process was starved before the change
+		 */
+		private void update(boolean wasStarved) {
+			boolean isStarved = isStarved();
+			if (wasStarved != isStarved)
+				starved += isStarved ? 1 : -1;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Class:			PageFaultEvent
+ * Purpose:			A Java Flight Recorder event for each simulated page fault, recorded when a CPU has metrics and the
+ * 					event is enabled in the recording. The times are simulated ticks, not the time of the recording.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+@Name("simulator.PageFault")
+@Label("Page Fault")
+@Category("Paging Simulator")
+@Description("A simulated process referenced a page that was not in memory")
+public class PageFaultEvent extends jdk.jfr.Event {
+	@Label("Policy")
+	public String policy;					//The replacement algorithm of the CPU
+	@Label("Process")
+	public int process;						//The ID of the process
+	@Label("Page")
+	public int page;						//The page referenced
+	@Label("Simulated Time")
+	public long time;					//The tick the fault happened at
+}
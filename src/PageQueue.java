@@ -0,0 +1,100 @@
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class:			PageQueue
+ * Purpose:			A view of the references a process has left as a queue of pages, kept so that code written against
+ * 					a queue of pages still works. Pages are created as they are looked at, so the simulation itself reads
+ * 					the trace directly.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class PageQueue extends AbstractQueue<Page> {
+	private Process process;			//The process whose trace is viewed
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param process the process whose trace is viewed
+	 */
+	public PageQueue(Process process) {
+		this.process = process;
+	}
+
+	/**
+	 * Method offer
+	 * Purpose:			Used to add a page to the end of the trace.
+	 * Postcondition:	The page number is added to the trace if the process can take another reference
+	 * Parameters:		@param page the page to add
+	 * Return:			@return true if the page was added, false if the trace is full or is not held in memory
+	 */
+	@Override
+	public boolean offer(Page page) {
+		return process.addReference(page.getInstruction());
+	}
+
+	/**
+	 * Method poll
+	 * Purpose:			Used to remove and return the next page of the trace.
+	 * Postcondition:	The cursor of the trace moves past the page
+	 * Return:			@return the page, or null if no references are left
+	 */
+	@Override
+	public Page poll() {
+		Trace trace = process.getTrace();
+		if (trace.isEmpty())
+			return null;
+		Page page = new Page(trace.peek());
+		trace.advance();
+		return page;
+	}
+
+	/**
+	 * Method peek
+	 * Purpose:			Used to return the next page of the trace without removing it.
+	 * Postcondition:	The trace is unchanged
+	 * Return:			@return the page, or null if no references are left
+	 */
+	@Override
+	public Page peek() {
+		Trace trace = process.getTrace();
+		return trace.isEmpty() ? null : new Page(trace.peek());
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of references left in the trace.
+	 * Postcondition:	Returns the size
+	 * Return:			@return the references left
+	 */
+	@Override
+	public int size() {
+		return process.getTrace().remaining();
+	}
+
+	/**
+	 * Method iterator
+	 * Purpose:			Used to iterate over the pages left in the trace.
+	 * Postcondition:	Returns an iterator that does not support removal
+	 * Return:			@return the iterator
+	 */
+	@Override
+	public Iterator<Page> iterator() {
+		Trace trace = process.getTrace();
+		return new Iterator<Page>() {
+			private int index = trace.getCursor();		//The position of the next page
+
+			@Override
+			public boolean hasNext() {
+				return index < trace.length();
+			}
+
+			@Override
+			public Page next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return new Page(trace.get(index++));
+			}
+		};
+	}
+}
@@ -0,0 +1,199 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			PageTable
+ * Purpose:			An open addressing hash table from page numbers to the frame slots holding them. The keys and values
+ * 					are stored in primitive arrays so that looking up a page neither searches the frames nor boxes the
+ * 					page number. Removed entries are closed up by shifting later entries back, so no deleted markers
+ * 					build up as pages are replaced. The table doubles if it becomes more than half full, so it can
+ * 					also map any number of pages to other non-negative values, such as the time each was last used.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class PageTable implements Checkpointable {
+	private static final int EMPTY = -1;	//The slot stored in an unused entry
+	private int[] pages;					//The page number of each entry
+	private int[] slots;					//The frame slot of each entry, or EMPTY if the entry is unused
+	private int mask;						//Used to wrap an index around the table
+	private int size;						//The number of pages in the table
+
+	/**
+	 * Constructor with a parameter to initialize all variables. The table is sized so that it is never more than
+	 * half full when every frame holds a page.
+	 * Parameters:	@param frames the number of frames the pages can be held in
+	 */
+	public PageTable(int frames) {
+		int capacity = Integer.highestOneBit(Math.max(frames, 1) * 2 - 1) * 2;
+		this.pages = new int[capacity];
+		this.slots = new int[capacity];
+		this.mask = capacity - 1;
+		this.size = 0;
+		Arrays.fill(slots, EMPTY);
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to find the frame slot holding a page.
+	 * Postcondition:	Returns the slot, or -1 if the page is not in the table
+	 * Parameters:		@param page the page number
+	 * Return:			@return the slot holding the page
+	 */
+	public int get(int page) {
+		int index = hash(page);
+		while (slots[index] != EMPTY) {
+			if (pages[index] == page)
+				return slots[index];
+			index = (index + 1) & mask;
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Method put
+	 * Purpose:			Used to record the frame slot holding a page.
+	 * Precondition:	The slot must not be negative.
+	 * Postcondition:	The page maps to the slot, replacing any slot it mapped to before
+	 * Parameters:		@param page the page number
+	 * 					@param slot the frame slot
+	 */
+	public void put(int page, int slot) {
+		int index = hash(page);
+		while (slots[index] != EMPTY) {
+			if (pages[index] == page) {
+				slots[index] = slot;
+				return;
+			}
+			index = (index + 1) & mask;
+		}
+		pages[index] = page;
+		slots[index] = slot;
+		size++;
+		if (size * 2 > slots.length)
+			resize(slots.length * 2);
+	}
+
+	/**
+	 * Method remove
+	 * Purpose:			Used to remove a page from the table when it leaves its frame.
+	 * Postcondition:	The page is removed and the entries after it are shifted back to close the gap
+	 * Parameters:		@param page the page number
+	 * Return:			@return the slot the page was held in, or -1 if it was not in the table
+	 */
+	public int remove(int page) {
+		int index = hash(page);
+		while (slots[index] != EMPTY) {
+			if (pages[index] == page) {
+				int slot = slots[index];
+				closeGap(index);
+				size--;
+				return slot;
+			}
+			index = (index + 1) & mask;
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Method clear
+	 * Purpose:			Used to remove every page from the table.
+	 * Postcondition:	The table is empty
+	 */
+	public void clear() {
+		Arrays.fill(slots, EMPTY);
+		size = 0;
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of pages in the table.
+	 * Postcondition:	Returns the size
+	 * Return:			@return the number of pages
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method resize
+	 * Purpose:			Used to move every entry into a table of a new size.
+	 * Postcondition:	The table has the new size and holds the same pages
+	 * Parameters:		@param capacity the new number of entries, which must be a power of two
+	 */
+	private void resize(int capacity) {
+		int[] oldPages = pages;
+		int[] oldSlots = slots;
+		pages = new int[capacity];
+		slots = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+		Arrays.fill(slots, EMPTY);
+		for (int i = 0; i < oldSlots.length; i++) {
+			if (oldSlots[i] != EMPTY)
+				put(oldPages[i], oldSlots[i]);
+		}
+	}
+
+	/**
+	 * Method closeGap
+	 * Purpose:			Used to fill an unused entry with a later entry that would otherwise no longer be found.
+	 * Postcondition:	Every page in the table can still be reached from its hash without passing an unused entry.
+	 * Parameters:		@param gap the index of the entry being removed
+	 */
+	private void closeGap(int gap) {
+		int index = gap;
+		while (true) {
+			index = (index + 1) & mask;
+			if (slots[index] == EMPTY)
+				break;
+			int home = hash(pages[index]);
+			if (((index - home) & mask) >= ((index - gap) & mask)) {
+				pages[gap] = pages[index];
+				slots[gap] = slots[index];
+				gap = index;
+			}
+		}
+		slots[gap] = EMPTY;
+	}
+
+	/**
+	 * Method hash
+	 * Purpose:			Used to spread the page numbers over the table, as pages are often close together.
+	 * Parameters:		@param page the page number
+	 * Return:			@return the index the page starts searching from
+	 */
+	private int hash(int page) {
+		int h = page * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the entries of the table to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		Checkpoint.writeInts(out, pages);
+		Checkpoint.writeInts(out, slots);
+		out.writeInt(size);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the entries of the table with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		pages = Checkpoint.readInts(in);
+		slots = Checkpoint.readInts(in);
+		Checkpoint.expect(slots.length, pages.length, "slots");
+		mask = slots.length - 1;
+		size = in.readInt();
+	}
+}
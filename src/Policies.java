@@ -0,0 +1,62 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class:			Policies
+ * Purpose:			Creates CPUs for the replacement algorithms by name, so the algorithms can be chosen on the command
+ * 					line.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Policies {
+	private static final String[] NAMES = { "lru", "clock", "opt", "arc", "2q", "lirs" };		//The names of the algorithms, in report order
+
+	/**
+	 * Method create
+	 * Purpose:			Used to create a CPU using the replacement algorithm named.
+	 * Postcondition:	Returns a new CPU that has not been run
+	 * Parameters:		@param name the name of the algorithm, in any case
+	 * 					@param quantum the time quantum for scheduling
+	 * Return:			@return the CPU
+	 */
+	public static <T extends Process> CPU<T> create(String name, int quantum) {
+		switch (name.toLowerCase()) {
+			case "lru":
+				return new CPULRU<T>(quantum);
+			case "clock":
+				return new CPUClock<T>(quantum);
+			case "opt":
+				return new CPUOPT<T>(quantum);
+			case "arc":
+				return new CPUARC<T>(quantum);
+			case "2q":
+				return new CPUTwoQ<T>(quantum);
+			case "lirs":
+				return new CPULIRS<T>(quantum);
+			default:
+				throw new IllegalArgumentException("Unknown replacement algorithm " + name + ". Choose from " + String.join(", ", NAMES) + ".");
+		}
+	}
+
+	/**
+	 * Method parse
+	 * Purpose:			Used to read a comma separated list of algorithm names, or "all" for every algorithm.
+	 * Postcondition:	Returns the names in the order given, checking that each is known
+	 * Parameters:		@param list the list of names
+	 * Return:			@return the names
+	 */
+	public static List<String> parse(String list) {
+		List<String> names = new ArrayList<String>();
+		for (String name : list.split(",")) {
+			name = name.trim().toLowerCase();
+			if (name.equals("all")) {
+				for (String known : NAMES)
+					names.add(known);
+				continue;
+			}
+			create(name, 1);
+			names.add(name);
+		}
+		return names;
+	}
+}
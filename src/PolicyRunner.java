@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Class:			PolicyRunner
+ * Purpose:			Runs several CPUs, each with a different replacement algorithm, at the same time on a bounded pool of
+ * 					threads. The runs share nothing but the loaded traces, which are never changed, as each run is given
+ * 					its own processes. The CPUs are returned in the order they were given, whichever finishes first.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class PolicyRunner {
+	private int threads;					//The most runs at the same time
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param threads the most runs at the same time
+	 */
+	public PolicyRunner(int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("At least one thread is needed to run the algorithms.");
+		this.threads = threads;
+	}
+
+	/**
+	 * Method run
+	 * Purpose:			Used to run every CPU on its own copy of the processes.
+	 * Precondition:	Each CPU must not have been run before.
+	 * Postcondition:	Every CPU has finished running, or the first failure is thrown once the others have stopped.
+	 * Parameters:		@param cpus the CPUs to run
+	 * 					@param processes creates a new queue of processes each time it is called, and is called once for
+	 * 					each CPU on the thread running it
+	 * Return:			@return the CPUs in the order they were given
+	 */
+	public <T extends Process> List<CPU<T>> run(List<CPU<T>> cpus, Supplier<Queue<T>> processes) {
+		if (cpus.size() <= 1 || threads == 1) {
+			for (CPU<T> cpu : cpus)
+				cpu.run(processes.get());
+			return cpus;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, cpus.size()));
+		try {
+			List<Future<?>> runs = new ArrayList<Future<?>>();
+			for (CPU<T> cpu : cpus)
+				runs.add(executor.submit(() -> cpu.run(processes.get())));
+			RuntimeException failure = null;
+			for (Future<?> run : runs) {
+				try {
+					run.get();
+				}
+				catch (ExecutionException e) {
+					if (failure == null)
+						failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for the algorithms to finish.", e);
+				}
+			}
+			if (failure != null)
+				throw failure;
+			return cpus;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
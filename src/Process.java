@@ -1,5 +1,6 @@
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Queue;
 
 /**
@@ -10,18 +11,24 @@ import java.util.Queue;
  * Student Name:	Sean Crocker
  * Student Number:	3307768
  */
-public class Process implements Comparable<Process> {
+public class Process implements Comparable<Process>, Checkpointable {
 	private int ID;							//The identification of the process
 	private final int maxPages = 50;		//The maximum amount of pages a process can have
 	private final int swapTime = 6;			//The time it takes to swap in a page
 	private String name;					//The name of the process
-	private int turnAroundTime;				//The turn around time of the process
+	private long turnAroundTime;			//The turn around time of the process
 	private Frame[] frames;					//Frames of Memory Allocated to this process
-	private Queue<Page> pages;				//The pages the process
-	private ArrayList<Integer> faultTimes;	//A collection of the times a page fault has occurred
-	private int exitTime;					//The time the process was interrupted
-	private int readyTime;					//The time the process will be ready
+	private PageTable pageTable;			//The slot of the frame holding each resident page
+	private int residentCount;				//The number of frames holding a page
+	private Trace trace;					//The pages the process references, in order
+	private ArrayTrace pages;				//The trace when it is held in memory and can be added to, otherwise null
+	private LongList faultTimes;			//A collection of the times a page fault has occurred
+	private long droppedFaults;				//The number of page faults whose times were dropped to bound memory
+	private long exitTime;					//The time the process was interrupted
+	private long readyTime;					//The time the process will be ready
 	private int runningTime;				//The amount of the time the process spends running without an interrupt
+	private int queueIndex;					//The position of the process in the ready queue, or -1 if it is not queued
+	private ReplacementPolicy policy;		//The page replacement policy for the frames of the process
 		
 	/**
 	 * Constructor with parameters to initialize all variables. The ready, exit, and turn around
@@ -36,10 +43,56 @@ public class Process implements Comparable<Process> {
 		this.name = name;
 		this.turnAroundTime = 0;
 		this.frames = new Frame[frames];
-		this.pages = new ArrayDeque<Page>();
-		this.faultTimes = new ArrayList<Integer>();
+		this.pageTable = new PageTable(frames);
+		this.residentCount = 0;
+		this.pages = new ArrayTrace();
+		this.trace = pages;
+		this.faultTimes = new LongList();
 		this.exitTime = 0;
 		this.readyTime = 0;
+		this.queueIndex = -1;
+		this.policy = null;
+	}
+
+	/**
+	 * Constructor with parameters to create a process that executes a loaded trace. The references are shared with
+	 * the loaded trace rather than copied, so many processes, such as one for each replacement algorithm, can be
+	 * created from the same file without reading it again. At most the maximum pages are executed.
+	 * Parameters:	@param trace the loaded trace
+	 * 				@param frames the amount of the frames
+	 */
+	public Process(ProcessTrace trace, int frames) {
+		this(trace.getID(), trace.getName(), frames);
+		this.pages = new ArrayTrace(trace.getReferences(), Math.min(trace.length(), maxPages));
+		this.trace = pages;
+	}
+
+	/**
+	 * Constructor with parameters to create a process that executes the trace given, such as a trace read from its
+	 * file as it runs. No maximum is placed on the pages of the trace, and no pages can be added to it.
+	 * Parameters:	@param id the ID of the process
+	 * 				@param name the name of the process
+	 * 				@param frames the amount of the frames
+	 * 				@param trace the trace to execute
+	 */
+	public Process(int id, String name, int frames, Trace trace) {
+		this(id, name, frames);
+		this.trace = trace;
+		this.pages = null;
+	}
+
+	/**
+	 * Constructor with parameters to create a process that executes a trace held in memory, such as the start of a
+	 * loaded trace. No maximum is placed on the pages of the trace, and pages can be added to it up to the maximum.
+	 * Parameters:	@param id the ID of the process
+	 * 				@param name the name of the process
+	 * 				@param frames the amount of the frames
+	 * 				@param trace the trace to execute
+	 */
+	public Process(int id, String name, int frames, ArrayTrace trace) {
+		this(id, name, frames);
+		this.pages = trace;
+		this.trace = trace;
 	}
 
 	/**
@@ -68,7 +121,7 @@ public class Process implements Comparable<Process> {
 	 * Postcondition:	Returns the turn around time.
 	 * Return:			@return the turn around time
 	 */
-	public int getTurnAroundTime() {
+	public long getTurnAroundTime() {
 		return turnAroundTime;
 	}
 
@@ -78,29 +131,43 @@ public class Process implements Comparable<Process> {
 	 * Postcondition:	The turn around time of the process is set with the value given.
 	 * Parameters:		@param trTime the value used to set the turn around time time
 	 */
-	public void setTurnAroundTime(int trTime) {
+	public void setTurnAroundTime(long trTime) {
 		this.turnAroundTime = trTime;
 	}
 	
 	/**
 	 * Method getPages
-	 * Purpose:			Used to retrieve the pages owned by the process.
-	 * Precondition:	Page objects must be added to a queue in order to use it.
+	 * Purpose:			Used to retrieve the pages owned by the process as a queue. The queue is a view of the trace,
+	 * 					so removing a page moves the cursor of the trace, and adding a page adds its reference.
 	 * Postcondition:	The queue containing pages are returned
 	 * Return:			@return the queue of pages
 	 */
 	public Queue<Page> getPages() {
-		return pages;
+		return new PageQueue(this);
 	}
 
 	/**
 	 * Method setPages
 	 * Purpose:			Used to set the pages for the process
-	 * Postcondition:	The process has a queue of pages
+	 * Postcondition:	The trace of the process is replaced by the pages in the queue
 	 * Parameters:		@param pages the queue of pages
 	 */
 	public void setPages(Queue<Page> pages) {
-		this.pages = pages;
+		ArrayTrace trace = new ArrayTrace();
+		for (Page page : pages)
+			trace.add(page.getInstruction());
+		this.pages = trace;
+		this.trace = trace;
+	}
+
+	/**
+	 * Method getTrace
+	 * Purpose:			Used to retrieve the reference string of the process with its cursor.
+	 * Postcondition:	The trace is returned
+	 * Return:			@return the trace
+	 */
+	public Trace getTrace() {
+		return trace;
 	}
 
 	/**
@@ -119,17 +186,42 @@ public class Process implements Comparable<Process> {
 	 * Postcondition:	The list of times page faults occur are returned.
 	 * Return:			@return list of page faults
 	 */
-	public ArrayList<Integer> getFaultTimes() {
+	public LongList getFaultTimes() {
 		return faultTimes;
 	}
 
+	/**
+	 * Method getFaultCount
+	 * Purpose:			Used to return the number of page faults, including those whose times were dropped.
+	 * Postcondition:	Returns the number of page faults
+	 * Return:			@return the number of page faults
+	 */
+	public long getFaultCount() {
+		return droppedFaults + faultTimes.size();
+	}
+
+	/**
+	 * Method trimFaultTimes
+	 * Purpose:			Used to drop the oldest fault times once there are more than a limit, so a process that runs for
+	 * 					as long as it is fed keeps bounded memory. The faults are still counted.
+	 * Postcondition:	At most the number of fault times kept are held
+	 * Parameters:		@param keep the number of the latest fault times to keep
+	 */
+	public void trimFaultTimes(int keep) {
+		int dropped = faultTimes.size() - keep;
+		if (dropped > 0) {
+			faultTimes.removeFirst(dropped);
+			droppedFaults += dropped;
+		}
+	}
+
 	/**
 	 * Method getReadyTime
 	 * Purpose:			Used to return the time the process will next be ready
 	 * Postcondition:	The time is returned and validated to determine whether the process can run
 	 * Return:			@return ready time
 	 */
-	public int getReadyTime() {
+	public long getReadyTime() {
 		return readyTime;
 	}
 
@@ -139,13 +231,24 @@ public class Process implements Comparable<Process> {
 	 * Postcondition:	The time has the time it takes to swap in a process added onto it and the time is set.
 	 * Parameters:		@param readyTime the readyTime
 	 */
-	public void setReadyTime(int readyTime) {
+	public void setReadyTime(long readyTime) {
 		this.readyTime = readyTime + swapTime;
 	}
 
+	/**
+	 * Method getSwapTime
+	 * Purpose:			Used to return the time it takes to swap in a page.
+	 * Postcondition:	The swap time is returned and used to size the queue of blocked processes
+	 * Return:			@return the swap time
+	 */
+	public int getSwapTime() {
+		return swapTime;
+	}
+
 	/**
 	 * Method getFrames
-	 * Purpose:			Used to return the array of frames that the process is allocated in the memory.
+	 * Purpose:			Used to return the array of frames that the process is allocated in the memory. The pages held
+	 * 					by the frames must only be changed through setFrame or setFrames to keep the page table in sync.
 	 * Postcondition:	The collection of allocated memory frames are returned 
 	 * Return:			@return frames
 	 */
@@ -156,11 +259,106 @@ public class Process implements Comparable<Process> {
 	/**
 	 * Method setFrames
 	 * Purpose:			Used to set the array of frames that the process is allocated in the main memory.
-	 * Postcondition:	The collection of frames are set	
+	 * Postcondition:	The collection of frames are set and the page table is rebuilt from them
 	 * Parameters:		@param frames the frames
 	 */
 	public void setFrames(Frame[] frames) {
 		this.frames = frames;
+		this.pageTable = new PageTable(frames.length);
+		this.residentCount = 0;
+		for (int i = 0; i < frames.length; i++) {
+			if (frames[i] != null) {
+				pageTable.put(frames[i].getValue(), i);
+				residentCount++;
+			}
+		}
+	}
+
+	/**
+	 * Method setFrame
+	 * Purpose:			Used to place a frame in one of the slots allocated to the process, replacing the page held there.
+	 * Precondition:	The page held by the new frame must not already be held by another slot.
+	 * Postcondition:	The frame is set and the page table is updated for the page leaving and the page arriving
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param frame the frame
+	 */
+	public void setFrame(int slot, Frame frame) {
+		if (frames[slot] == null)
+			residentCount++;
+		else
+			pageTable.remove(frames[slot].getValue());
+		frames[slot] = frame;
+		pageTable.put(frame.getValue(), slot);
+	}
+
+	/**
+	 * Method loadPage
+	 * Purpose:			Used to swap a page into one of the slots allocated to the process, replacing the page held there.
+	 * 					The frame already in the slot is reused, so a frame is only created the first time a slot is filled.
+	 * Precondition:	The page must not already be held by another slot.
+	 * Postcondition:	The frame holds the page with its use bit cleared and the page table is updated
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page number
+	 */
+	public void loadPage(int slot, int page) {
+		Frame frame = frames[slot];
+		if (frame == null) {
+			frames[slot] = new Frame(page);
+			residentCount++;
+		}
+		else {
+			pageTable.remove(frame.getValue());
+			frame.setValue(page);
+			frame.setUseBit(false);
+		}
+		pageTable.put(page, slot);
+	}
+
+	/**
+	 * Method unloadPage
+	 * Purpose:			Used to take the page out of one of the slots allocated to the process, leaving the slot free. Only
+	 * 					variable allocation frees slots, so fixed allocation can keep filling the slots in order.
+	 * Postcondition:	The slot holds no frame and the page table no longer has the page
+	 * Parameters:		@param slot the slot of the frame
+	 */
+	public void unloadPage(int slot) {
+		if (frames[slot] != null) {
+			pageTable.remove(frames[slot].getValue());
+			frames[slot] = null;
+			residentCount--;
+		}
+	}
+
+	/**
+	 * Method findFrame
+	 * Purpose:			Used to find the slot of the frame holding a page without searching the frames.
+	 * Postcondition:	Returns the slot, or -1 if the page is not in the main memory
+	 * Parameters:		@param page the page number
+	 * Return:			@return the slot holding the page
+	 */
+	public int findFrame(int page) {
+		return pageTable.get(page);
+	}
+
+	/**
+	 * Method getResidentCount
+	 * Purpose:			Used to return the number of frames that hold a page. As frames are filled in order, this is
+	 * 					also the slot of the next free frame.
+	 * Postcondition:	Returns the number of frames in use
+	 * Return:			@return the resident count
+	 */
+	public int getResidentCount() {
+		return residentCount;
+	}
+
+	/**
+	 * Method isFull
+	 * Purpose:			Used to determine whether every frame allocated to the process holds a page.
+	 * Postcondition:	Returns true if there is no free frame
+	 * Return:			@return true if the frames are full
+	 */
+	public boolean isFull() {
+		return residentCount == frames.length;
 	}
 	
 	/**
@@ -169,10 +367,82 @@ public class Process implements Comparable<Process> {
 	 * Postcondition:	The time is used for the round robin scheduling
 	 * Parameters:		@param exit the exit time
 	 */
-	public void setExitTime(int exit) {
+	public void setExitTime(long exit) {
 		this.exitTime = exit;
 	}
 
+	/**
+	 * Method getExitTime
+	 * Purpose:			Used to return the time the process last exited the main memory.
+	 * Postcondition:	The exit time is returned
+	 * Return:			@return the exit time
+	 */
+	public long getExitTime() {
+		return exitTime;
+	}
+
+	/**
+	 * Method getQueueTime
+	 * Purpose:			Used to return the time the process joined the ready queue. A process that was unblocked joins
+	 * 					at its ready time, while a process interrupted by the time quantum joins at its exit time.
+	 * Postcondition:	The time is used to order the ready queue for the round robin scheduling
+	 * Return:			@return the time the process joined the ready queue
+	 */
+	public long getQueueTime() {
+		return isInterrupted() ? exitTime : readyTime;
+	}
+
+	/**
+	 * Method isInterrupted
+	 * Purpose:			Used to determine whether the process last left the main memory because of the time quantum
+	 * 					rather than a page fault. An interrupted process has not become ready since it exited.
+	 * Postcondition:	Returns true if the process was interrupted
+	 * Return:			@return true if the exit time is not before the ready time
+	 */
+	public boolean isInterrupted() {
+		return exitTime >= readyTime;
+	}
+
+	/**
+	 * Method getQueueIndex
+	 * Purpose:			Used to return the position of the process in the ready queue.
+	 * Postcondition:	The position is used to remove the process from the queue without searching it
+	 * Return:			@return the position, or -1 if the process is not queued
+	 */
+	public int getQueueIndex() {
+		return queueIndex;
+	}
+
+	/**
+	 * Method setQueueIndex
+	 * Purpose:			Used to set the position of the process in the ready queue.
+	 * Postcondition:	The position of the process is set
+	 * Parameters:		@param queueIndex the position, or -1 if the process is not queued
+	 */
+	public void setQueueIndex(int queueIndex) {
+		this.queueIndex = queueIndex;
+	}
+
+	/**
+	 * Method getPolicy
+	 * Purpose:			Used to return the page replacement policy for the frames of the process.
+	 * Postcondition:	The policy is told about every page used and chooses the frames to replace
+	 * Return:			@return the policy, or null if the process has not been run
+	 */
+	public ReplacementPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Method setPolicy
+	 * Purpose:			Used to set the page replacement policy for the frames of the process.
+	 * Postcondition:	The policy of the process is set
+	 * Parameters:		@param policy the policy
+	 */
+	public void setPolicy(ReplacementPolicy policy) {
+		this.policy = policy;
+	}
+
 	/**
 	 * Method getRunningTime
 	 * Purpose:			Used to return amount of time the process has been running for.
@@ -193,6 +463,73 @@ public class Process implements Comparable<Process> {
 		this.runningTime = runningTime;
 	}
 
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the times, frames, page faults and replacement policy of the process to a checkpoint.
+	 * 					The trace is not written, only how far through it the process is, so the process is restored
+	 * 					by giving it the same trace again.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		out.writeLong(turnAroundTime);
+		out.writeLong(exitTime);
+		out.writeLong(readyTime);
+		out.writeInt(runningTime);
+		out.writeInt(frames.length);
+		for (Frame frame : frames) {
+			out.writeBoolean(frame != null);
+			if (frame != null) {
+				out.writeInt(frame.getValue());
+				out.writeBoolean(frame.isUseBit());
+			}
+		}
+		out.writeInt(trace.getCursor());
+		faultTimes.writeState(out);
+		out.writeLong(droppedFaults);
+		out.writeBoolean(policy != null);
+		if (policy != null)
+			policy.writeState(out);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the state of the process with the state read from a checkpoint.
+	 * Precondition:	The process must have the trace it had when the state was written, not yet executed past the
+	 * 					cursor written, and the replacement policy it was run with.
+	 * Postcondition:	The frames and page table are rebuilt and the trace is moved to the cursor written
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match the process
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		turnAroundTime = in.readLong();
+		exitTime = in.readLong();
+		readyTime = in.readLong();
+		runningTime = in.readInt();
+		Checkpoint.expect(in.readInt(), frames.length, "frames of process " + ID);
+		Frame[] restored = new Frame[frames.length];
+		for (int i = 0; i < restored.length; i++) {
+			if (in.readBoolean()) {
+				restored[i] = new Frame(in.readInt());
+				restored[i].setUseBit(in.readBoolean());
+			}
+		}
+		setFrames(restored);
+		int cursor = in.readInt();
+		if (cursor < trace.getCursor())
+			throw new IOException("Process " + ID + " has already executed past the checkpoint.");
+		trace.skip(cursor - trace.getCursor());
+		Checkpoint.expect(trace.getCursor(), cursor, "references of process " + ID);
+		faultTimes.readState(in);
+		droppedFaults = in.readLong();
+		if (in.readBoolean() != (policy != null))
+			throw new IOException("The checkpoint of process " + ID + " was written with a different allocation.");
+		if (policy != null)
+			policy.readState(in);
+	}
+
 	/**
 	 * Method toString
 	 * Purpose:			Used to convert the process to a string and return the result, detailing
@@ -201,11 +538,14 @@ public class Process implements Comparable<Process> {
 	 * Return:			@return the process converted to a string
 	 */
 	public String toString() {
-		String results = "{";
-		for (int i = 0; i < faultTimes.size() - 1; i++)
-			results += faultTimes.get(i)+ ", ";
-		results += faultTimes.get(faultTimes.size() - 1)+"}";
-		return ID+"\t"+name+"\t\t"+turnAroundTime+"\t\t\t"+faultTimes.size()+"\t\t"+results;
+		StringBuilder results = new StringBuilder();
+		results.append(ID).append('\t').append(name).append("\t\t").append(turnAroundTime).append("\t\t\t").append(getFaultCount()).append("\t\t{");
+		for (int i = 0; i < faultTimes.size(); i++) {
+			if (i > 0)
+				results.append(", ");
+			results.append(faultTimes.get(i));
+		}
+		return results.append('}').toString();
 	}
 
 	/**
@@ -215,9 +555,22 @@ public class Process implements Comparable<Process> {
 	 * Parameter:		@param page the page to add
 	 */
 	public void addPage(Page page) {
-		if (pages.size() < maxPages) {
-			pages.add(page);
-		}
+		addReference(page.getInstruction());
+	}
+
+	/**
+	 * Method addReference
+	 * Purpose:			Used to add a page number to the end of the reference string without creating a page.
+	 * Postcondition:	The trace has another reference added to it, unless it already holds the maximum pages or
+	 * 					is read as it runs rather than held in memory
+	 * Parameter:		@param page the page number to add
+	 * Return:			@return true if the reference was added
+	 */
+	public boolean addReference(int page) {
+		if (pages == null || pages.length() >= maxPages)
+			return false;
+		pages.add(page);
+		return true;
 	}
 
 	/**
@@ -0,0 +1,87 @@
+/**
+ * Class:			ProcessTrace
+ * Purpose:			The reference string read from the file of a process, kept separately from any simulation so that it
+ * 					is read once and shared by every replacement algorithm. A loaded trace is never changed.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ProcessTrace {
+	private final int id;					//The identification of the process
+	private final String name;				//The name of the process
+	private final int[] references;			//The page numbers referenced, in order
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param id the ID of the process
+	 * 				@param name the name of the process
+	 * 				@param references the page numbers referenced, which must not be changed afterwards
+	 */
+	public ProcessTrace(int id, String name, int[] references) {
+		this.id = id;
+		this.name = name;
+		this.references = references;
+	}
+
+	/**
+	 * Method getID
+	 * Purpose:			Used to return the ID of the process.
+	 * Postcondition:	Returns the ID.
+	 * Return:			@return the ID
+	 */
+	public int getID() {
+		return id;
+	}
+
+	/**
+	 * Method getName
+	 * Purpose:			Used to return the name of the process
+	 * Postcondition:	The name of the process is returned
+	 * Return:			@return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Method getReferences
+	 * Purpose:			Used to return the page numbers referenced by the process. The array is shared and must not be
+	 * 					changed.
+	 * Postcondition:	The references are returned
+	 * Return:			@return the page numbers
+	 */
+	public int[] getReferences() {
+		return references;
+	}
+
+	/**
+	 * Method length
+	 * Purpose:			Used to return the number of references in the trace.
+	 * Postcondition:	Returns the length
+	 * Return:			@return the length
+	 */
+	public int length() {
+		return references.length;
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to return the reference at a position of the trace.
+	 * Postcondition:	Returns the page number
+	 * Parameters:		@param index the position of the reference
+	 * Return:			@return the page number
+	 */
+	public int get(int index) {
+		return references[index];
+	}
+
+	/**
+	 * Method createProcess
+	 * Purpose:			Used to create a new process that executes this trace.
+	 * Postcondition:	Returns a process sharing the references with this trace
+	 * Parameters:		@param frames the amount of frames allocated to the process
+	 * Return:			@return the process
+	 */
+	public Process createProcess(int frames) {
+		return new Process(this, frames);
+	}
+}
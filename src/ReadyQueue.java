@@ -0,0 +1,303 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Class:			ReadyQueue
+ * Purpose:			An indexed binary heap of the processes that are ready to run. Processes are ordered by the time
+ * 					they joined the queue, with unblocked processes ahead of interrupted processes that joined at the
+ * 					same time, and then by their ID. This is the same order the round robin scheduling finds with
+ * 					Process.comesBefore, but the next process is polled in O(log n) instead of searched for. Each
+ * 					process stores its position in the heap so that it can also be removed in O(log n).
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ * Type Parameter:	@param <T> extends Process to use its scheduling times.
+ */
+public class ReadyQueue<T extends Process> extends AbstractQueue<T> {
+	private Process[] heap;					//The processes in heap order
+	private long[] order;					//The order each process was added, used when all else is equal
+	private int size;						//The number of processes in the queue
+	private long added;						//The number of processes ever added
+	private int modifications;				//The number of changes, used to detect changes while iterating
+
+	/**
+	 * Constructor with no parameters to initialize all variables.
+	 */
+	public ReadyQueue() {
+		this.heap = new Process[16];
+		this.order = new long[16];
+		this.size = 0;
+		this.added = 0;
+		this.modifications = 0;
+	}
+
+	/**
+	 * Method offer
+	 * Purpose:			Used to add a process to the queue.
+	 * Precondition:	The process must not be in another ready queue.
+	 * Postcondition:	The process is placed in the heap and its position is recorded in the process.
+	 * Parameters:		@param process the process to add
+	 * Return:			@return true as the queue is unbounded
+	 */
+	@Override
+	public boolean offer(T process) {
+		if (process == null)
+			throw new NullPointerException();
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size * 2);
+			order = Arrays.copyOf(order, size * 2);
+		}
+		heap[size] = process;
+		order[size] = added++;
+		process.setQueueIndex(size);
+		size++;
+		modifications++;
+		siftUp(size - 1);
+		return true;
+	}
+
+	/**
+	 * Method poll
+	 * Purpose:			Used to remove and return the next process to run.
+	 * Postcondition:	The process is removed from the heap.
+	 * Return:			@return the next process, or null if the queue is empty
+	 */
+	@Override
+	public T poll() {
+		if (size == 0)
+			return null;
+		T first = peek();
+		removeAt(0);
+		return first;
+	}
+
+	/**
+	 * Method peek
+	 * Purpose:			Used to return the next process to run without removing it.
+	 * Postcondition:	The queue is unchanged
+	 * Return:			@return the next process, or null if the queue is empty
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T peek() {
+		return size == 0 ? null : (T) heap[0];
+	}
+
+	/**
+	 * Method remove
+	 * Purpose:			Used to remove a process from anywhere in the queue by using its recorded position.
+	 * Postcondition:	The process is removed if it was in this queue
+	 * Parameters:		@param value the process to remove
+	 * Return:			@return true if the process was removed
+	 */
+	@Override
+	public boolean remove(Object value) {
+		if (!contains(value))
+			return false;
+		removeAt(((Process) value).getQueueIndex());
+		return true;
+	}
+
+	/**
+	 * Method contains
+	 * Purpose:			Used to determine whether a process is in the queue by using its recorded position.
+	 * Postcondition:	Returns true if the process is in this queue
+	 * Parameters:		@param value the process to look for
+	 * Return:			@return true if the process is queued here
+	 */
+	@Override
+	public boolean contains(Object value) {
+		if (!(value instanceof Process))
+			return false;
+		int index = ((Process) value).getQueueIndex();
+		return index >= 0 && index < size && heap[index] == value;
+	}
+
+	/**
+	 * Method size
+	 * Purpose:			Used to return the number of processes in the queue.
+	 * Postcondition:	Returns the size
+	 * Return:			@return the size
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method iterator
+	 * Purpose:			Used to iterate over the processes in heap order, which is not the order they will run.
+	 * Postcondition:	Returns an iterator that does not support removal
+	 * Return:			@return the iterator
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int index = 0;						//The position of the next process
+			private int expected = modifications;		//The changes made when the iteration began
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (expected != modifications)
+					throw new ConcurrentModificationException();
+				if (index >= size)
+					throw new NoSuchElementException();
+				return (T) heap[index++];
+			}
+		};
+	}
+
+	/**
+	 * Method removeAt
+	 * Purpose:			Used to remove the process at a position in the heap.
+	 * Postcondition:	The last process fills the gap and is moved to restore the heap order.
+	 * Parameters:		@param index the position of the process to remove
+	 */
+	private void removeAt(int index) {
+		heap[index].setQueueIndex(-1);
+		size--;
+		modifications++;
+		if (index != size) {
+			Process last = heap[size];
+			move(size, index);
+			siftDown(index);
+			if (last.getQueueIndex() == index)
+				siftUp(index);
+		}
+		heap[size] = null;
+	}
+
+	/**
+	 * Method siftUp
+	 * Purpose:			Used to move a process towards the top of the heap until its parent comes before it.
+	 * Parameters:		@param index the position of the process
+	 */
+	private void siftUp(int index) {
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (!before(index, parent))
+				return;
+			swap(index, parent);
+			index = parent;
+		}
+	}
+
+	/**
+	 * Method siftDown
+	 * Purpose:			Used to move a process towards the bottom of the heap until it comes before its children.
+	 * Parameters:		@param index the position of the process
+	 */
+	private void siftDown(int index) {
+		while (true) {
+			int child = index * 2 + 1;
+			if (child >= size)
+				return;
+			if (child + 1 < size && before(child + 1, child))
+				child++;
+			if (!before(child, index))
+				return;
+			swap(index, child);
+			index = child;
+		}
+	}
+
+	/**
+	 * Method before
+	 * Purpose:			Used to determine whether the process at one position should run before the process at another.
+	 * Postcondition:	Compares the time they joined the queue, then whether they were interrupted, then their IDs, and
+	 * 					then the order they were added.
+	 * Parameters:		@param a the position of the first process
+	 * 					@param b the position of the second process
+	 * Return:			@return true if the first process runs first
+	 */
+	private boolean before(int a, int b) {
+		Process first = heap[a];
+		Process second = heap[b];
+		if (first.getQueueTime() != second.getQueueTime())
+			return first.getQueueTime() < second.getQueueTime();
+		if (first.isInterrupted() != second.isInterrupted())
+			return second.isInterrupted();
+		if (first.getID() != second.getID())
+			return first.getID() < second.getID();
+		return order[a] < order[b];
+	}
+
+	/**
+	 * Method swap
+	 * Purpose:			Used to swap two processes in the heap and update their recorded positions.
+	 * Parameters:		@param a the first position
+	 * 					@param b the second position
+	 */
+	private void swap(int a, int b) {
+		Process process = heap[a];
+		long added = order[a];
+		move(b, a);
+		heap[b] = process;
+		order[b] = added;
+		process.setQueueIndex(b);
+	}
+
+	/**
+	 * Method move
+	 * Purpose:			Used to move the process at one position to another and update its recorded position.
+	 * Parameters:		@param from the position to move from
+	 * 					@param to the position to move to
+	 */
+	private void move(int from, int to) {
+		heap[to] = heap[from];
+		order[to] = order[from];
+		heap[to].setQueueIndex(to);
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the queue to a checkpoint, naming each process by its position in a list.
+	 * Postcondition:	The heap is written as it is, with the order each process was added, so the queue is read back
+	 * 					with the same ties broken the same way
+	 * Parameters:		@param out the stream to write
+	 * 					@param indexes the position of each process in the list of every process
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public void writeState(DataOutputStream out, Map<Process, Integer> indexes) throws IOException {
+		out.writeInt(size);
+		out.writeLong(added);
+		for (int i = 0; i < size; i++) {
+			out.writeInt(indexes.get(heap[i]));
+			out.writeLong(order[i]);
+		}
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the queue with one read from a checkpoint.
+	 * Postcondition:	The position of each queued process is recorded in the process
+	 * Parameters:		@param in the stream to read
+	 * 					@param processes the list of every process, in the order used when the queue was written
+	 * Throws:			@throws IOException if the stream cannot be read
+	 */
+	public void readState(DataInputStream in, List<T> processes) throws IOException {
+		size = in.readInt();
+		added = in.readLong();
+		heap = new Process[Math.max(size, 16)];
+		order = new long[heap.length];
+		for (int i = 0; i < size; i++) {
+			heap[i] = processes.get(in.readInt());
+			order[i] = in.readLong();
+			heap[i].setQueueIndex(i);
+		}
+		modifications++;
+	}
+}
@@ -0,0 +1,150 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class:			RecencyList
+ * Purpose:			An intrusive doubly linked list over the frame slots of a process, ordered from the most recently used
+ * 					slot to the least recently used slot. The links are stored in primitive arrays allocated once for
+ * 					the frames, so moving a slot to the front and finding the least recently used slot are both O(1)
+ * 					and never allocate. The list is circular around a sentinel stored after the last slot.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class RecencyList implements Checkpointable {
+	private int[] next;					//The slot used less recently than each slot, or -1 if the slot is not in the list
+	private int[] previous;				//The slot used more recently than each slot
+	private int sentinel;				//The index of the sentinel, which is the number of slots
+	private int[] marks;				//The run each slot was last seen in by touchAll, created when first needed
+	private int[] order;				//The distinct slots of a run, from the last used, created when first needed
+	private int run;					//The number of the current run of touchAll
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frame slots
+	 */
+	public RecencyList(int frames) {
+		this.next = new int[frames + 1];
+		this.previous = new int[frames + 1];
+		this.sentinel = frames;
+		clear();
+	}
+
+	/**
+	 * Method touch
+	 * Purpose:			Used to record that a slot was just used.
+	 * Postcondition:	The slot is moved, or added, to the front of the list as the most recently used slot.
+	 * Parameters:		@param slot the slot used
+	 */
+	public void touch(int slot) {
+		if (next[sentinel] == slot)
+			return;
+		if (next[slot] != -1) {
+			next[previous[slot]] = next[slot];
+			previous[next[slot]] = previous[slot];
+		}
+		next[slot] = next[sentinel];
+		previous[slot] = sentinel;
+		previous[next[sentinel]] = slot;
+		next[sentinel] = slot;
+	}
+
+	/**
+	 * Method touchAll
+	 * Purpose:			Used to record that slots were just used, one after another.
+	 * Postcondition:	The list is ordered as if each slot had been touched in turn, but each distinct slot is only
+	 * 					moved once, in the order of its last use, so a long run over a few frames costs little more than
+	 * 					reading it.
+	 * Parameters:		@param slots the slots used, from the first used to the last
+	 * 					@param count the number of slots used
+	 */
+	public void touchAll(int[] slots, int count) {
+		if (marks == null) {
+			marks = new int[sentinel];
+			order = new int[sentinel];
+		}
+		if (++run == 0) {
+			Arrays.fill(marks, 0);
+			run = 1;
+		}
+		int distinct = 0;
+		for (int i = count - 1; i >= 0 && distinct < sentinel; i--) {
+			if (marks[slots[i]] != run) {
+				marks[slots[i]] = run;
+				order[distinct++] = slots[i];
+			}
+		}
+		for (int i = distinct - 1; i >= 0; i--)
+			touch(order[i]);
+	}
+
+	/**
+	 * Method remove
+	 * Purpose:			Used to take a slot out of the list when its frame is freed.
+	 * Postcondition:	The slot is no longer in the list. Nothing happens if it was not in the list.
+	 * Parameters:		@param slot the slot freed
+	 */
+	public void remove(int slot) {
+		if (next[slot] == -1)
+			return;
+		next[previous[slot]] = next[slot];
+		previous[next[slot]] = previous[slot];
+		next[slot] = -1;
+	}
+
+	/**
+	 * Method getLeastRecent
+	 * Purpose:			Used to return the slot that was used least recently, which is the victim for the LRU policy.
+	 * Postcondition:	Returns the slot at the back of the list, or -1 if the list is empty
+	 * Return:			@return the least recently used slot
+	 */
+	public int getLeastRecent() {
+		return previous[sentinel] == sentinel ? -1 : previous[sentinel];
+	}
+
+	/**
+	 * Method getMostRecent
+	 * Purpose:			Used to return the slot that was used most recently.
+	 * Postcondition:	Returns the slot at the front of the list, or -1 if the list is empty
+	 * Return:			@return the most recently used slot
+	 */
+	public int getMostRecent() {
+		return next[sentinel] == sentinel ? -1 : next[sentinel];
+	}
+
+	/**
+	 * Method clear
+	 * Purpose:			Used to remove every slot from the list.
+	 * Postcondition:	The list is empty
+	 */
+	public void clear() {
+		Arrays.fill(next, -1);
+		next[sentinel] = sentinel;
+		previous[sentinel] = sentinel;
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the order of the slots to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		Checkpoint.writeInts(out, next);
+		Checkpoint.writeInts(out, previous);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the order of the slots with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		Checkpoint.readInts(in, next);
+		Checkpoint.readInts(in, previous);
+	}
+}
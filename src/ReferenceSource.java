@@ -0,0 +1,14 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface:		ReferenceSource
+ * Purpose:			Supplies the page numbers of a process a block at a time, so that a trace can be read as it is
+ * 					executed instead of being held in memory.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public interface ReferenceSource extends Closeable {
+
+	public int read(int[] pages, int offset, int length) throws IOException;	//Reads up to length pages, returning the number read or -1 at the end
+}
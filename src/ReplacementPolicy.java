@@ -0,0 +1,61 @@
+/**
+ * Class:			ReplacementPolicy
+ * Purpose:			Interface for the page replacement algorithm of one process. The CPU looks pages up in the frames of
+ * 					the process and tells the policy what happened, and the policy only decides which frame to replace.
+ * 					A policy refers to frames by their slot, from zero to one less than the frames of the process. The
+ * 					state of a policy is written to checkpoints, so a policy must be able to write and read all of it.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public interface ReplacementPolicy extends Checkpointable {
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to record that the process used a page that was already in one of its frames.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	public void onHit(int slot);
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to record a run of uses of pages that were already in memory, in the order they were used,
+	 * 					without any fault between them. Policies that can apply a run faster than one use at a time
+	 * 					override this, but must end in the same state as calling onHit for each use.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	public default void onHits(int[] slots, int count, int cursor) {
+		for (int i = 0; i < count; i++)
+			onHit(slots[i]);
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to choose the frame to replace when a page is not in memory and every frame is full.
+	 * Postcondition:	The page in the slot returned is treated as removed from memory. It is only called when every
+	 * 					frame holds a page, and is followed by onFault for the same slot.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	public int chooseVictim(int page);
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to record that the page that caused a fault was loaded into a frame, either a free frame or
+	 * 					the one returned by chooseVictim. The load counts as the use of the page, so onHit is not also
+	 * 					called for the reference that caused the fault.
+	 * Parameters:		@param slot the slot of the frame the page was loaded into
+	 * 					@param page the page loaded
+	 */
+	public void onFault(int slot, int page);
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to record that the page in a frame left memory without being replaced, leaving the frame
+	 * 					free. Only variable allocation frees frames, and a free frame is always filled again through
+	 * 					onFault before chooseVictim is next called.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	public void onRemove(int slot);
+}
@@ -0,0 +1,218 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Class:			ReportWriter
+ * Purpose:			Writes the results of the CPUs as they are produced, one process at a time in ID order, so a report
+ * 					of any number of processes and faults is never built as one string. The results can be written as
+ * 					the table printed by the simulator, as comma separated values with a header, or as JSON lines with
+ * 					one object for each process.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ReportWriter {
+	public static final int TABLE = 0;						//The table printed by the simulator
+	public static final int CSV = 1;						//Comma separated values with a header line
+	public static final int JSON = 2;						//One JSON object on each line
+	private static final String SEPARATOR = "-----------------------------------------------------------------------------------\n\n";	//Between the tables of two CPUs
+	private static final int LINE_LIMIT = 8192;				//The characters held before part of a line is written
+	private Writer out;										//The writer receiving the report, buffered by the caller
+	private int format;										//The format of the report
+	private int written;									//The number of CPUs written
+	private StringBuilder line;								//The line being written, reused for every process
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param out the writer receiving the report, which should be buffered
+	 * 				@param format the format of the report
+	 */
+	public ReportWriter(Writer out, int format) {
+		if (format < TABLE || format > JSON)
+			throw new IllegalArgumentException("Unknown report format " + format + ".");
+		this.out = out;
+		this.format = format;
+		this.written = 0;
+		this.line = new StringBuilder();
+	}
+
+	/**
+	 * Method parse
+	 * Purpose:			Used to read a report format from the command line, one of "table", "csv" or "json".
+	 * Postcondition:	Returns the format
+	 * Parameters:		@param name the name of the format
+	 * Return:			@return the format
+	 */
+	public static int parse(String name) {
+		switch (name.toLowerCase()) {
+			case "table":
+				return TABLE;
+			case "csv":
+				return CSV;
+			case "json":
+				return JSON;
+			default:
+				throw new IllegalArgumentException("Unknown report format " + name + ". Use table, csv or json.");
+		}
+	}
+
+	/**
+	 * Method write
+	 * Purpose:			Used to write the results of a CPU after those already written.
+	 * Precondition:	The CPU must have finished running
+	 * Postcondition:	Tables are separated by a line of dashes and end with a blank line, and the header of comma
+	 * 					separated values is only written before the first CPU
+	 * Parameters:		@param cpu the CPU
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	public void write(CPU<? extends Process> cpu) throws IOException {
+		if (format == TABLE) {
+			if (written > 0)
+				out.write(SEPARATOR);
+			writeTable(cpu);
+			out.write('\n');
+		}
+		else {
+			if (format == CSV && written == 0)
+				out.write("policy,allocation,pid,name,turnaround,faults,fault times\n");
+			for (Process process : cpu.getResults()) {
+				if (format == CSV)
+					writeCSV(cpu, process);
+				else
+					writeJSON(cpu, process);
+			}
+		}
+		written++;
+	}
+
+	/**
+	 * Method writeTable
+	 * Purpose:			Used to write the table of results of a CPU on its own, as returned by the toString of the CPU.
+	 * Precondition:	The CPU must have finished running
+	 * Parameters:		@param cpu the CPU
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	public void writeTable(CPU<? extends Process> cpu) throws IOException {
+		out.write(cpu.getName() + " - " + cpu.getAllocation() + ":\n");
+		out.write("PID\tProcess Name\t\tTurnaround Time\t\t# Faults\tFault Times\n");
+		for (Process process : cpu.getResults()) {
+			LongList faultTimes = process.getFaultTimes();
+			line.append(process.getID()).append('\t').append(process.getName()).append("\t\t").append(process.getTurnAroundTime())
+					.append("\t\t\t").append(process.getFaultCount()).append("\t\t{");
+			for (int i = 0; i < faultTimes.size(); i++) {
+				if (i > 0)
+					line.append(", ");
+				line.append(faultTimes.get(i));
+				drain();
+			}
+			line.append("}\n");
+			endLine();
+		}
+	}
+
+	/**
+	 * Method flush
+	 * Purpose:			Used to flush the writer so everything written so far reaches its destination.
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Method writeCSV
+	 * Purpose:			Used to write one process as comma separated values, with its fault times separated by spaces.
+	 * Parameters:		@param cpu the CPU that ran the process
+	 * 					@param process the process
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	private void writeCSV(CPU<? extends Process> cpu, Process process) throws IOException {
+		LongList faultTimes = process.getFaultTimes();
+		line.append(csv(cpu.getName())).append(',').append(csv(cpu.getAllocation().toString())).append(',').append(process.getID())
+				.append(',').append(csv(process.getName())).append(',').append(process.getTurnAroundTime()).append(',')
+				.append(process.getFaultCount()).append(',');
+		for (int i = 0; i < faultTimes.size(); i++) {
+			if (i > 0)
+				line.append(' ');
+			line.append(faultTimes.get(i));
+			drain();
+		}
+		line.append('\n');
+		endLine();
+	}
+
+	/**
+	 * Method writeJSON
+	 * Purpose:			Used to write one process as a JSON object on its own line.
+	 * Parameters:		@param cpu the CPU that ran the process
+	 * 					@param process the process
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	private void writeJSON(CPU<? extends Process> cpu, Process process) throws IOException {
+		LongList faultTimes = process.getFaultTimes();
+		line.append("{\"policy\":").append(json(cpu.getName())).append(",\"allocation\":").append(json(cpu.getAllocation().toString()))
+				.append(",\"pid\":").append(process.getID()).append(",\"name\":").append(json(process.getName()))
+				.append(",\"turnaround\":").append(process.getTurnAroundTime()).append(",\"faults\":").append(process.getFaultCount())
+				.append(",\"faultTimes\":[");
+		for (int i = 0; i < faultTimes.size(); i++) {
+			if (i > 0)
+				line.append(',');
+			line.append(faultTimes.get(i));
+			drain();
+		}
+		line.append("]}\n");
+		endLine();
+	}
+
+	/**
+	 * Method drain
+	 * Purpose:			Used to write the line so far once it is long, so a process with millions of faults is streamed.
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	private void drain() throws IOException {
+		if (line.length() >= LINE_LIMIT)
+			endLine();
+	}
+
+	/**
+	 * Method endLine
+	 * Purpose:			Used to write the line so far and empty it.
+	 * Throws:			@throws IOException if the report cannot be written
+	 */
+	private void endLine() throws IOException {
+		out.append(line);
+		line.setLength(0);
+	}
+
+	/**
+	 * Method csv
+	 * Purpose:			Used to quote a value for comma separated values if it holds a comma, quote or line break.
+	 * Parameters:		@param value the value
+	 * Return:			@return the value, quoted if needed
+	 */
+	private static String csv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+			return value;
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Method json
+	 * Purpose:			Used to write a value as a JSON string.
+	 * Parameters:		@param value the value
+	 * Return:			@return the value quoted, with quotes, backslashes and control characters escaped
+	 */
+	private static String json(String value) {
+		StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				quoted.append('\\').append(c);
+			else if (c < 0x20)
+				quoted.append(String.format("\\u%04x", (int) c));
+			else
+				quoted.append(c);
+		}
+		return quoted.append('"').toString();
+	}
+}
@@ -0,0 +1,280 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class:			ResultCache
+ * Purpose:			Remembers the results of simulations so that running the same traces with the same settings again
+ * 					returns the results without simulating. A result is found by a key made from a SHA-256 hash of the
+ * 					content of the traces and the settings of the CPU. The most recently used results are held in
+ * 					memory, and every result is also written to a directory so later runs can find it. Once the files
+ * 					of the directory grow past their limit, the least recently used are deleted.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class ResultCache {
+	private static final int VERSION = 2;	//Changed whenever the simulation changes its results, so old results are not used
+	private static final String EXTENSION = ".res";	//The extension of the files of results
+	private Map<String, SimulationResult> memory;	//The most recently used results, from least to most recent
+	private int memoryEntries;				//The most results held in memory
+	private Path directory;					//The directory of results, or null to only hold them in memory
+	private long maxBytes;					//The most bytes of results kept in the directory
+	private long diskBytes;					//The bytes of results in the directory when last counted and since written
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param memoryEntries the most results held in memory
+	 * 				@param directory the directory of results, which is created if needed, or null for none
+	 * 				@param maxBytes the most bytes of results kept in the directory
+	 * Throws:		@throws IOException if the directory cannot be created or listed
+	 */
+	public ResultCache(int memoryEntries, Path directory, long maxBytes) throws IOException {
+		if (memoryEntries < 0 || maxBytes < 0)
+			throw new IllegalArgumentException("The limits of the cache cannot be negative.");
+		this.memoryEntries = memoryEntries;
+		this.memory = new LinkedHashMap<String, SimulationResult>(16, 0.75f, true);
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		if (directory != null) {
+			Files.createDirectories(directory);
+			evict();
+		}
+	}
+
+	/**
+	 * Method fingerprint
+	 * Purpose:			Used to hash the loaded traces, with the ID and name of each, in the order given.
+	 * Parameters:		@param traces the traces
+	 * Return:			@return the hash as hexadecimal digits
+	 */
+	public static String fingerprint(List<ProcessTrace> traces) {
+		MessageDigest digest = digest();
+		byte[] bytes = new byte[1 << 16];
+		for (ProcessTrace trace : traces) {
+			digest.update(header(trace.getID(), trace.getName(), trace.length()));
+			int[] references = trace.getReferences();
+			int size = 0;
+			for (int i = 0; i < trace.length(); i++) {
+				int page = references[i];
+				bytes[size++] = (byte) (page >>> 24);
+				bytes[size++] = (byte) (page >>> 16);
+				bytes[size++] = (byte) (page >>> 8);
+				bytes[size++] = (byte) page;
+				if (size == bytes.length) {
+					digest.update(bytes, 0, size);
+					size = 0;
+				}
+			}
+			digest.update(bytes, 0, size);
+		}
+		return hex(digest.digest());
+	}
+
+	/**
+	 * Method fingerprintFiles
+	 * Purpose:			Used to hash the bytes of trace files, with the name of each, in the order given, for traces that
+	 * 					are streamed rather than loaded.
+	 * Parameters:		@param fileNames the names of the files
+	 * Return:			@return the hash as hexadecimal digits
+	 * Throws:			@throws IOException if a file cannot be read
+	 */
+	public static String fingerprintFiles(List<String> fileNames) throws IOException {
+		MessageDigest digest = digest();
+		byte[] bytes = new byte[1 << 16];
+		for (String fileName : fileNames) {
+			digest.update(header(0, fileName, Files.size(Path.of(fileName))));
+			try (InputStream in = Files.newInputStream(Path.of(fileName))) {
+				int read;
+				while ((read = in.read(bytes)) > 0)
+					digest.update(bytes, 0, read);
+			}
+		}
+		return hex(digest.digest());
+	}
+
+	/**
+	 * Method key
+	 * Purpose:			Used to make the key of the results of running traces on a CPU.
+	 * Parameters:		@param fingerprint the hash of the traces
+	 * 					@param cpu the CPU, with its allocation set
+	 * 					@param frames the frames of each process, or the total frames for variable allocation
+	 * 					@param streaming true if the traces are streamed without the maximum pages
+	 * Return:			@return the key
+	 */
+	public static String key(String fingerprint, CPU<? extends Process> cpu, int frames, boolean streaming) {
+		String settings = VERSION + "|" + fingerprint + "|" + cpu.getName() + "|" + cpu.getAllocation() + "|" + frames + "|"
+				+ cpu.getQuantum() + "|" + streaming;
+		return hex(digest().digest(settings.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to find the results stored under a key, first in memory and then in the directory.
+	 * Postcondition:	A result found is the most recently used. A file that cannot be read is deleted.
+	 * Parameters:		@param key the key
+	 * Return:			@return the results, or null if there are none
+	 */
+	public synchronized SimulationResult get(String key) {
+		SimulationResult result = memory.get(key);
+		if (result != null || directory == null)
+			return result;
+		Path file = directory.resolve(key + EXTENSION);
+		if (!Files.isRegularFile(file))
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			result = SimulationResult.read(in);
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		catch (IOException e) {
+			delete(file);
+			return null;
+		}
+		remember(key, result);
+		return result;
+	}
+
+	/**
+	 * Method put
+	 * Purpose:			Used to store results under a key, in memory and in the directory.
+	 * Postcondition:	The file is written whole before it is given its name, so a run that stops part way never leaves
+	 * 					a broken result. Results that cannot be written are only held in memory.
+	 * Parameters:		@param key the key
+	 * 					@param result the results
+	 */
+	public synchronized void put(String key, SimulationResult result) {
+		remember(key, result);
+		if (directory == null)
+			return;
+		Path file = directory.resolve(key + EXTENSION);
+		Path temporary = null;
+		try {
+			temporary = Files.createTempFile(directory, key, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+				result.write(out);
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			diskBytes += Files.size(file);
+			if (diskBytes > maxBytes)
+				evict();
+		}
+		catch (IOException e) {
+			if (temporary != null)
+				delete(temporary);
+		}
+	}
+
+	/**
+	 * Method remember
+	 * Purpose:			Used to hold results in memory as the most recently used.
+	 * Postcondition:	The least recently used results are forgotten once there are more than the limit
+	 * Parameters:		@param key the key
+	 * 					@param result the results
+	 */
+	private void remember(String key, SimulationResult result) {
+		if (memoryEntries == 0)
+			return;
+		memory.put(key, result);
+		if (memory.size() > memoryEntries)
+			memory.remove(memory.keySet().iterator().next());
+	}
+
+	/**
+	 * Method evict
+	 * Purpose:			Used to count the files of results, which other runs may also have written, and delete the least
+	 * 					recently used until the directory is within its limit.
+	 * Throws:			@throws IOException if the directory cannot be listed
+	 */
+	private void evict() throws IOException {
+		List<Path> files = new ArrayList<Path>();
+		long total = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+			for (Path file : stream) {
+				files.add(file);
+				total += Files.size(file);
+			}
+		}
+		diskBytes = total;
+		if (total <= maxBytes)
+			return;
+		Map<Path, FileTime> times = new HashMap<Path, FileTime>();
+		for (Path file : files)
+			times.put(file, Files.getLastModifiedTime(file));
+		files.sort(Comparator.comparing(times::get));
+		for (int i = 0; i < files.size() && total > maxBytes; i++) {
+			Path file = files.get(i);
+			total -= Files.size(file);
+			delete(file);
+		}
+		diskBytes = total;
+	}
+
+	/**
+	 * Method delete
+	 * Purpose:			Used to delete a file, ignoring a file that is already gone.
+	 * Parameters:		@param file the file
+	 */
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			//The file is left for the next eviction
+		}
+	}
+
+	/**
+	 * Method header
+	 * Purpose:			Used to encode the ID, name and length of a trace before its content is hashed.
+	 * Parameters:		@param id the ID
+	 * 					@param name the name
+	 * 					@param length the length
+	 * Return:			@return the bytes
+	 */
+	private static byte[] header(int id, String name, long length) {
+		return (id + "\u0000" + name + "\u0000" + length + "\u0000").getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Method digest
+	 * Purpose:			Used to create the SHA-256 digest, which every Java platform provides.
+	 * Return:			@return the digest
+	 */
+	private static MessageDigest digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Method hex
+	 * Purpose:			Used to write bytes as hexadecimal digits.
+	 * Parameters:		@param bytes the bytes
+	 * Return:			@return the digits
+	 */
+	private static String hex(byte[] bytes) {
+		StringBuilder digits = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			digits.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return digits.toString();
+	}
+}
@@ -0,0 +1,128 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Class:			SimulationResult
+ * Purpose:			The results of one run of a CPU, which are the ID, name, turn around time, references executed and
+ * 					fault times of each process in ID order. A result can be written to a stream and read again, and
+ * 					turned back into finished processes, so a run that has been cached never needs to be simulated.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class SimulationResult {
+	private static final int MAGIC = 0x53494D52;	//The first four bytes of a written result, "SIMR"
+	private int[] ids;						//The ID of each process
+	private String[] names;					//The name of each process
+	private long[] turnAroundTimes;			//The turn around time of each process
+	private int[] references;				//The references executed by each process
+	private long[][] faultTimes;			//The fault times of each process
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param ids the ID of each process
+	 * 				@param names the name of each process
+	 * 				@param turnAroundTimes the turn around time of each process
+	 * 				@param references the references executed by each process
+	 * 				@param faultTimes the fault times of each process
+	 */
+	public SimulationResult(int[] ids, String[] names, long[] turnAroundTimes, int[] references, long[][] faultTimes) {
+		this.ids = ids;
+		this.names = names;
+		this.turnAroundTimes = turnAroundTimes;
+		this.references = references;
+		this.faultTimes = faultTimes;
+	}
+
+	/**
+	 * Method of
+	 * Purpose:			Used to take the results of a CPU that has finished running.
+	 * Precondition:	The CPU must have finished running
+	 * Parameters:		@param cpu the CPU
+	 * Return:			@return the results
+	 */
+	public static SimulationResult of(CPU<? extends Process> cpu) {
+		List<? extends Process> processes = cpu.getResults();
+		int count = processes.size();
+		SimulationResult result = new SimulationResult(new int[count], new String[count], new long[count], new int[count], new long[count][]);
+		for (int i = 0; i < count; i++) {
+			Process process = processes.get(i);
+			result.ids[i] = process.getID();
+			result.names[i] = process.getName();
+			result.turnAroundTimes[i] = process.getTurnAroundTime();
+			result.references[i] = process.getTrace().length();
+			result.faultTimes[i] = process.getFaultTimes().toArray();
+		}
+		return result;
+	}
+
+	/**
+	 * Method read
+	 * Purpose:			Used to read a result written by write.
+	 * Parameters:		@param in the stream to read
+	 * Return:			@return the result
+	 * Throws:			@throws IOException if the stream cannot be read or does not hold a result
+	 */
+	public static SimulationResult read(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC)
+			throw new IOException("The stream does not hold a simulation result.");
+		int count = in.readInt();
+		SimulationResult result = new SimulationResult(new int[count], new String[count], new long[count], new int[count], new long[count][]);
+		for (int i = 0; i < count; i++) {
+			result.ids[i] = in.readInt();
+			result.names[i] = in.readUTF();
+			result.turnAroundTimes[i] = in.readLong();
+			result.references[i] = in.readInt();
+			result.faultTimes[i] = new long[in.readInt()];
+			for (int j = 0; j < result.faultTimes[i].length; j++)
+				result.faultTimes[i][j] = in.readLong();
+		}
+		return result;
+	}
+
+	/**
+	 * Method write
+	 * Purpose:			Used to write the result so it can be read again by read.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(ids.length);
+		for (int i = 0; i < ids.length; i++) {
+			out.writeInt(ids[i]);
+			out.writeUTF(names[i]);
+			out.writeLong(turnAroundTimes[i]);
+			out.writeInt(references[i]);
+			out.writeInt(faultTimes[i].length);
+			for (long time : faultTimes[i])
+				out.writeLong(time);
+		}
+	}
+
+	/**
+	 * Method createProcesses
+	 * Purpose:			Used to create finished processes holding the results, to be given to a CPU that is not run.
+	 * Postcondition:	Each process has the ID, name, turn around time and fault times of the result
+	 * Return:			@return the processes in ID order
+	 */
+	public Queue<Process> createProcesses() {
+		Queue<Process> processes = new ArrayDeque<Process>();
+		for (int i = 0; i < ids.length; i++) {
+			Process process = new Process(ids[i], names[i], 1);
+			process.setTurnAroundTime(turnAroundTimes[i]);
+			for (long time : faultTimes[i])
+				process.getFaultTimes().add(time);
+			processes.add(process);
+		}
+		return processes;
+	}
+
+	public int size() { return ids.length; }										//Returns the number of processes
+	public long getTurnAroundTime(int index) { return turnAroundTimes[index]; }	//Returns the turn around time of a process
+	public int getReferences(int index) { return references[index]; }			//Returns the references executed by a process
+	public int getFaults(int index) { return faultTimes[index].length; }		//Returns the faults of a process
+}
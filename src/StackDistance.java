@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+
+/**
+ * Class:			StackDistance
+ * Purpose:			Finds the LRU page faults of a process for every number of frames in one pass over its reference
+ * 					string. LRU is a stack algorithm, so a reference is a hit with F frames exactly when fewer than F
+ * 					other pages were used since the page was last used. That count, the stack distance, is found for each
+ * 					reference with a Fenwick tree over the times of the last use of each page, so the pass is
+ * 					O(n log n). The faults for F frames are the first uses of each page plus the references with a
+ * 					stack distance of F or more, which gives the whole miss ratio curve.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class StackDistance {
+	private int references;					//The number of references analysed
+	private int distinctPages;				//The number of different pages referenced, each faulting on first use
+	private long[] distances;				//The number of hits at each stack distance, from zero
+
+	/**
+	 * Constructor with parameters to analyse the start of a reference string.
+	 * Parameters:	@param pages the page numbers referenced
+	 * 				@param length the number of references from the start to analyse
+	 */
+	public StackDistance(int[] pages, int length) {
+		this.references = length;
+		this.distances = new long[1];
+		int[] tree = new int[length + 1];					//The Fenwick tree marking the last use of each page
+		PageTable lastUse = new PageTable(64);				//The time each page was last used
+		for (int time = 0; time < length; time++) {
+			int previous = lastUse.get(pages[time]);
+			if (previous < 0)
+				distinctPages++;
+			else {
+				int distance = sum(tree, time) - sum(tree, previous + 1);	//Pages used since, not counting the page
+				if (distance >= distances.length)
+					distances = Arrays.copyOf(distances, Math.max(distance + 1, distances.length * 2));
+				distances[distance]++;
+				add(tree, previous + 1, -1);
+			}
+			add(tree, time + 1, 1);
+			lastUse.put(pages[time], time);
+		}
+	}
+
+	/**
+	 * Method getFaults
+	 * Purpose:			Used to return the LRU page faults of the reference string for a number of frames.
+	 * Postcondition:	Returns the first uses of each page plus the references that were too deep in the stack
+	 * Parameters:		@param frames the number of frames
+	 * Return:			@return the page faults
+	 */
+	public long getFaults(int frames) {
+		long faults = distinctPages;
+		for (int distance = Math.max(frames, 0); distance < distances.length; distance++)
+			faults += distances[distance];
+		return faults;
+	}
+
+	/**
+	 * Method getCurve
+	 * Purpose:			Used to return the LRU page faults for every number of frames from one up to the number of
+	 * 					different pages, after which only the first use of each page faults.
+	 * Postcondition:	Returns the faults with the faults for F frames at position F - 1
+	 * Return:			@return the miss ratio curve as fault counts
+	 */
+	public long[] getCurve() {
+		long[] curve = new long[Math.max(distinctPages, 1)];
+		long deeper = 0;											//Hits at a stack distance of F or more
+		for (int distance = distances.length - 1; distance > curve.length; distance--)
+			deeper += distances[distance];
+		for (int frames = curve.length; frames >= 1; frames--) {
+			if (frames < distances.length)
+				deeper += distances[frames];
+			curve[frames - 1] = distinctPages + deeper;
+		}
+		return curve;
+	}
+
+	/**
+	 * Method getReferences
+	 * Purpose:			Used to return the number of references analysed.
+	 * Return:			@return the references
+	 */
+	public int getReferences() {
+		return references;
+	}
+
+	/**
+	 * Method getDistinctPages
+	 * Purpose:			Used to return the number of different pages referenced.
+	 * Return:			@return the distinct pages
+	 */
+	public int getDistinctPages() {
+		return distinctPages;
+	}
+
+	/**
+	 * Method verify
+	 * Purpose:			Used to check the curve of the start of a trace against the page faults CPULRU finds when a
+	 * 					process executing the same references is run alone with each number of frames.
+	 * Postcondition:	Returns a description of each number of frames where they differ
+	 * Parameters:		@param trace the trace to check
+	 * 					@param length the number of references from the start of the trace to check
+	 * 					@param maxFrames the largest number of frames to check
+	 * Return:			@return the differences, empty if they agree
+	 */
+	public static List<String> verify(ProcessTrace trace, int length, int maxFrames) {
+		List<String> differences = new ArrayList<String>();
+		StackDistance analysis = new StackDistance(trace.getReferences(), length);
+		for (int frames = 1; frames <= maxFrames; frames++) {
+			Process process = new Process(trace.getID(), trace.getName(), frames, new ArrayTrace(trace.getReferences(), length));
+			Queue<Process> queue = new ArrayDeque<Process>();
+			queue.add(process);
+			CPU<Process> cpu = new CPULRU<Process>(1);
+			cpu.setEventDriven(true);
+			cpu.run(queue);
+			if (process.getFaultTimes().size() != analysis.getFaults(frames))
+				differences.add(trace.getName() + " with " + frames + " frames: CPULRU " + process.getFaultTimes().size() + ", stack distance " + analysis.getFaults(frames));
+		}
+		return differences;
+	}
+
+	/**
+	 * Method main
+	 * Purpose:			Main method that prints the miss ratio curve of each file.
+	 * Postcondition:	The faults and miss ratio for every number of frames are printed for each process.
+	 * @param args optionally "--verify" to check the curves against CPULRU, then the files. By default only the
+	 * 			references the simulation executes are analysed, or every reference with "--all".
+	 */
+	public static void main(String[] args) {
+		boolean verify = false;
+		boolean all = false;
+		int first = 0;
+		while (first < args.length && args[first].startsWith("--")) {
+			if (args[first].equals("--verify"))
+				verify = true;
+			else if (args[first].equals("--all"))
+				all = true;
+			else
+				throw new IllegalArgumentException("Unknown option " + args[first] + ".");
+			first++;
+		}
+		if (first == args.length)
+			throw new IllegalArgumentException("Invalid arguements. At least one process must be defined.");
+		for (int i = first; i < args.length; i++) {
+			ProcessTrace trace;
+			try {
+				trace = BinaryTrace.isBinary(args[i]) ? BinaryTrace.read(args[i])
+						: new ProcessTrace(Integer.parseInt(args[i].replaceAll("\\D", "")), args[i], TraceLoader.read(args[i]));
+			}
+			catch (IOException e) {
+				System.out.println(e);
+				continue;
+			}
+			int length = all ? trace.length() : trace.createProcess(1).getTrace().length();
+			StackDistance analysis = new StackDistance(trace.getReferences(), length);
+			StringBuilder results = new StringBuilder();
+			results.append(trace.getID()).append('\t').append(trace.getName()).append("\t\t").append(length)
+					.append(" references\t").append(analysis.getDistinctPages()).append(" pages\n");
+			results.append("Frames\t# Faults\tMiss Ratio\n");
+			long[] curve = analysis.getCurve();
+			for (int frames = 1; frames <= curve.length; frames++)
+				results.append(frames).append('\t').append(curve[frames - 1]).append("\t\t")
+						.append(String.format(Locale.ROOT, "%.4f", length == 0 ? 0.0 : (double) curve[frames - 1] / length)).append('\n');
+			System.out.println(results);
+			if (verify) {
+				List<String> differences = verify(trace, length, analysis.getDistinctPages() + 1);
+				System.out.println(differences.isEmpty() ? "Matches CPULRU for 1 to " + (analysis.getDistinctPages() + 1) + " frames.\n" : String.join("\n", differences) + "\n");
+			}
+		}
+	}
+
+	/**
+	 * Method sum
+	 * Purpose:			Used to add up the marks of the Fenwick tree from the first time up to a time.
+	 * Parameters:		@param tree the Fenwick tree
+	 * 					@param index the number of times to add up
+	 * Return:			@return the number of marked times
+	 */
+	private static int sum(int[] tree, int index) {
+		int total = 0;
+		for (; index > 0; index -= index & -index)
+			total += tree[index];
+		return total;
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to change the mark of a time in the Fenwick tree.
+	 * Parameters:		@param tree the Fenwick tree
+	 * 					@param index the time, counting from one
+	 * 					@param value the change to the mark
+	 */
+	private static void add(int[] tree, int index, int value) {
+		for (; index < tree.length; index += index & -index)
+			tree[index] += value;
+	}
+}
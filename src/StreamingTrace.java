@@ -0,0 +1,164 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Class:			StreamingTrace
+ * Purpose:			A trace that pulls references from a source as they are needed through a fixed read ahead buffer,
+ * 					so the memory used stays the same however long the trace is. Only the buffered references can be
+ * 					looked at, and references cannot be added. Positions in the trace are int, so a trace can hold at
+ * 					most Integer.MAX_VALUE references, and reading past that stops with an exception rather than
+ * 					wrapping around.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class StreamingTrace implements Trace {
+	private ReferenceSource source;			//The source of the references, or null once it has run out
+	private int[] buffer;					//The references read ahead of the cursor
+	private int start;						//The position in the buffer of the next reference to execute
+	private int end;						//The position in the buffer after the last reference read
+	private int cursor;						//The number of references executed
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param source the source of the references
+	 * 				@param capacity the number of references read ahead
+	 */
+	public StreamingTrace(ReferenceSource source, int capacity) {
+		this.source = source;
+		this.buffer = new int[Math.max(capacity, 1)];
+		this.start = 0;
+		this.end = 0;
+		this.cursor = 0;
+	}
+
+	/**
+	 * Method peek
+	 * Purpose:			Used to return the next reference to execute, reading more from the source if the buffer is empty.
+	 * Precondition:	The trace must not be empty.
+	 * Postcondition:	Returns the page number at the cursor
+	 * Return:			@return the next page number
+	 */
+	@Override
+	public int peek() {
+		if (isEmpty())
+			throw new IllegalStateException("The trace has no references left.");
+		return buffer[start];
+	}
+
+	/**
+	 * Method advance
+	 * Purpose:			Used to move past the reference that was just executed.
+	 * Precondition:	The trace must not be empty.
+	 * Postcondition:	The cursor moves to the next reference
+	 */
+	@Override
+	public void advance() {
+		if (isEmpty())
+			throw new IllegalStateException("The trace has no references left.");
+		start++;
+		cursor++;
+	}
+
+	/**
+	 * Method get
+	 * Purpose:			Used to return a reference that has been read ahead but not yet executed.
+	 * Postcondition:	Returns the page number
+	 * Parameters:		@param index the position of the reference in the whole trace
+	 * Return:			@return the page number
+	 */
+	@Override
+	public int get(int index) {
+		if (index < cursor || index >= cursor + end - start)
+			throw new IndexOutOfBoundsException("Reference " + index + " is not in the read ahead buffer.");
+		return buffer[start + index - cursor];
+	}
+
+	/**
+	 * Method isEmpty
+	 * Purpose:			Used to determine whether every reference has been executed, reading more from the source if
+	 * 					the buffer is empty.
+	 * Postcondition:	Returns true if the buffer is empty and the source has run out
+	 * Return:			@return true if no references are left
+	 */
+	@Override
+	public boolean isEmpty() {
+		if (start == end)
+			fill();
+		return start == end;
+	}
+
+	/**
+	 * Method remaining
+	 * Purpose:			Used to return the number of references read ahead that are left to execute.
+	 * Postcondition:	Returns the number of buffered references
+	 * Return:			@return the references buffered
+	 */
+	@Override
+	public int remaining() {
+		return end - start;
+	}
+
+	/**
+	 * Method length
+	 * Purpose:			Used to return the number of references executed or read ahead so far.
+	 * Postcondition:	Returns the length known so far
+	 * Return:			@return the length
+	 */
+	@Override
+	public int length() {
+		return cursor + end - start;
+	}
+
+	/**
+	 * Method getCursor
+	 * Purpose:			Used to return the number of references executed.
+	 * Postcondition:	Returns the cursor
+	 * Return:			@return the cursor
+	 */
+	@Override
+	public int getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Method skip
+	 * Purpose:			Used to move the cursor past references without executing them, such as a run of hits that was
+	 * 					executed at once.
+	 * Postcondition:	The references read ahead are skipped at once, and any more are read and skipped one at a time
+	 * Parameters:		@param count the number of references to skip
+	 */
+	@Override
+	public void skip(int count) {
+		int buffered = Math.min(Math.max(count, 0), end - start);
+		start += buffered;
+		cursor += buffered;
+		Trace.super.skip(count - buffered);
+	}
+
+	/**
+	 * Method fill
+	 * Purpose:			Used to refill the buffer from the source once every buffered reference has been executed.
+	 * Postcondition:	The buffer holds the next references, or stays empty if the source has run out
+	 * Throws:			@throws IllegalStateException if the trace is longer than its positions can hold
+	 */
+	private void fill() {
+		start = 0;
+		end = 0;
+		try {
+			while (source != null && end == 0) {
+				int read = source.read(buffer, 0, buffer.length);
+				if (read < 0) {
+					source.close();
+					source = null;
+				}
+				else if (read > Integer.MAX_VALUE - cursor)
+					throw new IllegalStateException("A streamed trace cannot hold more than " + Integer.MAX_VALUE + " references.");
+				else
+					end = read;
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,323 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class:			Sweep
+ * Purpose:			Runs the simulation for every combination of a range of total frames, a range of time quantums and a
+ * 					list of replacement algorithms. The traces are read once and shared by every run, and the runs are
+ * 					split across the processors with fork/join. One table is printed with the faults, turnaround times
+ * 					and fault rate of each combination, in the order the combinations were given.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class Sweep {
+	private List<ProcessTrace> traces;		//The traces shared by every run
+	private List<String> policies;			//The names of the replacement algorithms
+	private int[] frames;					//The total frames of each run
+	private int[] quantums;					//The time quantums of each run
+	private boolean eventDriven;			//Whether idle time is skipped by the simulation
+	private Point[] points;					//The result of each combination, filled as the runs finish
+	private ResultCache cache;				//The results of earlier runs, or null to run every combination
+	private String fingerprint;				//The hash of the traces, used in the keys of the cache
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param traces the traces to run
+	 * 				@param policies the names of the replacement algorithms
+	 * 				@param frames the total frames of each run
+	 * 				@param quantums the time quantums of each run
+	 */
+	public Sweep(List<ProcessTrace> traces, List<String> policies, int[] frames, int[] quantums) {
+		this.traces = traces;
+		this.policies = policies;
+		this.frames = frames;
+		this.quantums = quantums;
+		this.eventDriven = true;
+		this.points = new Point[policies.size() * frames.length * quantums.length];
+		for (int i = 0; i < frames.length; i++) {
+			if (frames[i] < traces.size())
+				throw new IllegalArgumentException("Each process needs a frame, so " + frames[i] + " frames is too few for " + traces.size() + " processes.");
+		}
+	}
+
+	/**
+	 * Method main
+	 * Purpose:			Main method that runs when the sweep begins.
+	 * Postcondition:	The table of results is printed.
+	 * @param args optionally "--threads=N", "--cache=DIR" to keep the results of each combination in a directory
+	 * 			and "--cache-size=MB" to limit it, then the frames, the quantums, the algorithms and the files. Frames
+	 * 			and quantums are either a comma separated list or a range "first:last" or "first:last:step". Algorithms
+	 * 			are a comma separated list of names or "all".
+	 */
+	public static void main(String[] args) {
+		int first = 0;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String cacheDirectory = null;
+		long cacheBytes = 256L << 20;
+		while (first < args.length && args[first].startsWith("--")) {
+			if (args[first].startsWith("--threads="))
+				threads = Integer.parseInt(args[first].substring("--threads=".length()));
+			else if (args[first].startsWith("--cache="))
+				cacheDirectory = args[first].substring("--cache=".length());
+			else if (args[first].startsWith("--cache-size="))
+				cacheBytes = Long.parseLong(args[first].substring("--cache-size=".length())) << 20;
+			else
+				throw new IllegalArgumentException("Unknown option " + args[first] + ".");
+			first++;
+		}
+		if (args.length - first < 4)
+			throw new IllegalArgumentException("Invalid arguements. The frames, quantums, algorithms and at least one process must be defined.");
+		List<ProcessTrace> traces = new ArrayList<ProcessTrace>();
+		for (int i = first + 3; i < args.length; i++) {
+			try {
+				traces.add(BinaryTrace.isBinary(args[i]) ? BinaryTrace.read(args[i])
+						: new ProcessTrace(Integer.parseInt(args[i].replaceAll("\\D", "")), args[i], TraceLoader.read(args[i])));
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException("The file " + args[i] + " cannot be read.", e);
+			}
+		}
+		Sweep sweep = new Sweep(traces, Policies.parse(args[first + 2]), parseRange(args[first]), parseRange(args[first + 1]));
+		if (cacheDirectory != null) {
+			try {
+				sweep.setCache(new ResultCache(sweep.points.length, Path.of(cacheDirectory), cacheBytes));
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException("The cache " + cacheDirectory + " cannot be created.", e);
+			}
+		}
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			sweep.run(pool);
+		}
+		finally {
+			pool.shutdown();
+		}
+		System.out.print(sweep.toString());
+	}
+
+	/**
+	 * Method parseRange
+	 * Purpose:			Used to read a list or range of whole numbers.
+	 * Postcondition:	Returns the numbers in order
+	 * Parameters:		@param text a comma separated list, or a range "first:last" or "first:last:step"
+	 * Return:			@return the numbers
+	 */
+	public static int[] parseRange(String text) {
+		if (text.contains(":")) {
+			String[] parts = text.split(":");
+			int start = Integer.parseInt(parts[0]);
+			int end = Integer.parseInt(parts[1]);
+			int step = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+			if (step < 1 || end < start)
+				throw new IllegalArgumentException("The range " + text + " is empty.");
+			int[] values = new int[(end - start) / step + 1];
+			for (int i = 0; i < values.length; i++)
+				values[i] = start + i * step;
+			return values;
+		}
+		String[] parts = text.split(",");
+		int[] values = new int[parts.length];
+		for (int i = 0; i < parts.length; i++)
+			values[i] = Integer.parseInt(parts[i].trim());
+		return values;
+	}
+
+	/**
+	 * Method setEventDriven
+	 * Purpose:			Used to choose between the tick by tick simulation and the discrete event simulation.
+	 * Postcondition:	Every run uses the mode chosen
+	 * Parameters:		@param eventDriven true to skip idle time
+	 */
+	public void setEventDriven(boolean eventDriven) {
+		this.eventDriven = eventDriven;
+	}
+
+	/**
+	 * Method setCache
+	 * Purpose:			Used to keep the results of each combination, so a combination run before is not run again.
+	 * Postcondition:	The traces are hashed once for the keys of the cache
+	 * Parameters:		@param cache the cache, or null to run every combination
+	 */
+	public void setCache(ResultCache cache) {
+		this.cache = cache;
+		this.fingerprint = cache == null ? null : ResultCache.fingerprint(traces);
+	}
+
+	/**
+	 * Method run
+	 * Purpose:			Used to run every combination on a fork/join pool.
+	 * Postcondition:	The result of every combination is recorded
+	 * Parameters:		@param pool the pool running the combinations
+	 */
+	public void run(ForkJoinPool pool) {
+		pool.invoke(new Split(0, points.length));
+	}
+
+	/**
+	 * Method getPoints
+	 * Purpose:			Used to return the results of the combinations.
+	 * Postcondition:	Returns the results with the algorithms varying slowest and the quantums fastest
+	 * Return:			@return the results
+	 */
+	public Point[] getPoints() {
+		return points;
+	}
+
+	/**
+	 * Method toString
+	 * Purpose:			Used to convert the results into a table and return the result.
+	 * Precondition:	The sweep must have been run
+	 * Postcondition:	One line is returned for each combination
+	 * Return:			@return the table
+	 */
+	@Override
+	public String toString() {
+		StringBuilder results = new StringBuilder();
+		results.append("Policy\tFrames\tQuantum\t# Faults\tReferences\tFault Rate\tMean Turnaround\tMax Turnaround\n");
+		for (Point point : points)
+			results.append(point.toString()).append('\n');
+		return results.toString();
+	}
+
+	/**
+	 * Method runPoint
+	 * Purpose:			Used to run the combination at a position of the results.
+	 * Postcondition:	The result of the combination is recorded
+	 * Parameters:		@param index the position of the combination
+	 */
+	private void runPoint(int index) {
+		String policy = policies.get(index / (frames.length * quantums.length));
+		int totalFrames = frames[index / quantums.length % frames.length];
+		int quantum = quantums[index % quantums.length];
+		int processFrames = totalFrames / traces.size();
+		CPU<Process> cpu = Policies.create(policy, quantum);
+		cpu.setEventDriven(eventDriven);
+		String key = cache == null ? null : ResultCache.key(fingerprint, cpu, processFrames, false);
+		SimulationResult result = key == null ? null : cache.get(key);
+		if (result == null) {
+			Queue<Process> queue = new ArrayDeque<Process>();
+			for (ProcessTrace trace : traces)
+				queue.add(trace.createProcess(processFrames));
+			cpu.run(queue);
+			result = SimulationResult.of(cpu);
+			if (key != null)
+				cache.put(key, result);
+		}
+		long faults = 0;
+		long references = 0;
+		long turnaround = 0;
+		long maxTurnaround = 0;
+		for (int i = 0; i < result.size(); i++) {
+			faults += result.getFaults(i);
+			references += result.getReferences(i);
+			turnaround += result.getTurnAroundTime(i);
+			maxTurnaround = Math.max(maxTurnaround, result.getTurnAroundTime(i));
+		}
+		points[index] = new Point(policy, totalFrames, quantum, faults, references, (double) turnaround / result.size(), maxTurnaround);
+	}
+
+	/**
+	 * Class:			Split
+	 * Purpose:			A fork/join task running a range of combinations, splitting it in half until one is left.
+	 */
+	private class Split extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private int from;					//The first combination of the range
+		private int to;						//The combination after the range
+
+		/**
+		 * Constructor with parameters to initialize all variables.
+		 * Parameters:	@param from the first combination
+		 * 				@param to the combination after the last
+		 */
+		Split(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Method compute
+		 * Purpose:			Used to run the range of combinations.
+		 * Postcondition:	Every combination of the range is recorded
+		 */
+		@Override
+		protected void compute() {
+			if (to - from == 1)
+				runPoint(from);
+			else if (to > from) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Split(from, middle), new Split(middle, to));
+			}
+		}
+	}
+
+	/**
+	 * Class:			Point
+	 * Purpose:			The result of running one combination of frames, quantum and replacement algorithm.
+	 */
+	public static class Point {
+		private String policy;				//The name of the replacement algorithm
+		private int frames;					//The total frames
+		private int quantum;				//The time quantum
+		private long faults;				//The page faults of every process
+		private long references;			//The references executed by every process
+		private double meanTurnaround;		//The mean turn around time of the processes
+		private long maxTurnaround;			//The turn around time of the last process to finish
+
+		/**
+		 * Constructor with parameters to initialize all variables.
+		 * Parameters:	@param policy the name of the replacement algorithm
+		 * 				@param frames the total frames
+		 * 				@param quantum the time quantum
+		 * 				@param faults the page faults of every process
+		 * 				@param references the references executed by every process
+		 * 				@param meanTurnaround the mean turn around time
+		 * 				@param maxTurnaround the turn around time of the last process to finish
+		 */
+		public Point(String policy, int frames, int quantum, long faults, long references, double meanTurnaround, long maxTurnaround) {
+			this.policy = policy;
+			this.frames = frames;
+			this.quantum = quantum;
+			this.faults = faults;
+			this.references = references;
+			this.meanTurnaround = meanTurnaround;
+			this.maxTurnaround = maxTurnaround;
+		}
+
+		/**
+		 * Method getFaults
+		 * Purpose:			Used to return the page faults of every process.
+		 * Return:			@return the faults
+		 */
+		public long getFaults() {
+			return faults;
+		}
+
+		/**
+		 * Method getFaultRate
+		 * Purpose:			Used to return the fraction of references that caused a page fault.
+		 * Return:			@return the fault rate
+		 */
+		public double getFaultRate() {
+			return references == 0 ? 0 : (double) faults / references;
+		}
+
+		/**
+		 * Method toString
+		 * Purpose:			Used to convert the result into a line of the table.
+		 * Return:			@return the line
+		 */
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%s\t%d\t%d\t%d\t\t%d\t\t%.4f\t\t%.2f\t\t%d", policy, frames, quantum, faults, references, getFaultRate(), meanTurnaround, maxTurnaround);
+		}
+	}
+}
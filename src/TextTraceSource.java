@@ -0,0 +1,85 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Class:			TextTraceSource
+ * Purpose:			Reads the page numbers of a process file in the text format a block of bytes at a time, so that only
+ * 					one block of the file is in memory however long it is. The file is read through file handles that
+ * 					may close it between blocks, and it is closed once it has been read.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TextTraceSource implements ReferenceSource {
+	private static final int BLOCK = 8192;		//The number of bytes read from the file at once
+	private InputStream in;						//The stream reading the file, or null once it has been read
+	private ByteBuffer bytes;					//The block of the file being parsed
+	private TraceParser parser;					//The parser keeping its place in the file
+
+	/**
+	 * Constructor with a parameter to read the file, holding it open until it has been read.
+	 * Parameters:	@param fileName the name of the file
+	 * Throws:		@throws IOException if the file cannot be read
+	 */
+	public TextTraceSource(String fileName) throws IOException {
+		this(fileName, new FileHandles(1));
+	}
+
+	/**
+	 * Constructor with parameters to read the file through file handles shared with other sources, which open it
+	 * on its first read.
+	 * Parameters:	@param fileName the name of the file
+	 * 				@param handles the file handles
+	 * Throws:		@throws IOException if the file cannot be read
+	 */
+	public TextTraceSource(String fileName, FileHandles handles) throws IOException {
+		this.in = handles.open(fileName);
+		this.bytes = ByteBuffer.allocate(BLOCK);
+		this.bytes.limit(0);
+		this.parser = new TraceParser(fileName);
+	}
+
+	/**
+	 * Method read
+	 * Purpose:			Used to read the next page numbers from the file.
+	 * Postcondition:	More of the file is read whenever the block has been parsed.
+	 * Parameters:		@param pages the array receiving the page numbers
+	 * 					@param offset the position of the first page number to write
+	 * 					@param length the most page numbers to write
+	 * Return:			@return the number of page numbers read, or -1 if the file has no more
+	 * Throws:			@throws IOException if the file cannot be read
+	 */
+	@Override
+	public int read(int[] pages, int offset, int length) throws IOException {
+		int count = 0;
+		while (count < length && !parser.isFinished()) {
+			if (!bytes.hasRemaining()) {
+				int read = in.read(bytes.array(), 0, bytes.capacity());
+				if (read < 0) {
+					bytes.clear().limit(0);
+					count += parser.finish(pages, offset + count);
+					break;
+				}
+				bytes.clear().limit(read);
+			}
+			count += parser.parse(bytes, pages, offset + count, length - count);
+		}
+		if (parser.isFinished())
+			close();
+		return count == 0 && parser.isFinished() ? -1 : count;
+	}
+
+	/**
+	 * Method close
+	 * Purpose:			Used to close the file.
+	 * Postcondition:	The file is closed if it was open
+	 * Throws:			@throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (in != null) {
+			in.close();
+			in = null;
+		}
+	}
+}
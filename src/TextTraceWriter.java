@@ -0,0 +1,111 @@
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Class:			TextTraceWriter
+ * Purpose:			Writes a process file in the text format, one page number to a line followed by "end". The digits
+ * 					are written straight into a byte buffer rather than through strings, so billions of references can
+ * 					be written without creating an object for each.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TextTraceWriter implements TraceWriter {
+	private static final int BUFFER_SIZE = 1 << 16;		//The bytes written to the file at a time
+	private static final int LONGEST_LINE = 12;			//The most bytes in a line, a sign, ten digits and a new line
+	private OutputStream out;							//The file being written, or null once closed
+	private byte[] buffer;								//The bytes not yet written to the file
+	private int count;									//The number of bytes in the buffer
+
+	/**
+	 * Constructor with a parameter to create the file.
+	 * Parameters:	@param fileName the name of the file to write
+	 * Throws:		@throws IOException if the file cannot be created
+	 */
+	public TextTraceWriter(String fileName) throws IOException {
+		this.out = new FileOutputStream(fileName);
+		this.buffer = new byte[BUFFER_SIZE];
+		this.count = 0;
+	}
+
+	/**
+	 * Method add
+	 * Purpose:			Used to add references to the end of the file.
+	 * Postcondition:	The buffer is written to the file as it fills
+	 * Parameters:		@param pages the array of page numbers
+	 * 					@param offset the position of the first page number
+	 * 					@param length the number of page numbers to add
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	@Override
+	public void add(int[] pages, int offset, int length) throws IOException {
+		for (int i = offset; i < offset + length; i++) {
+			if (count > buffer.length - LONGEST_LINE)
+				flush();
+			writeLine(pages[i]);
+		}
+	}
+
+	/**
+	 * Method close
+	 * Purpose:			Used to end the file with "end" and close it.
+	 * Postcondition:	The file is complete and closed
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (out == null)
+			return;
+		flush();
+		out.write(new byte[] { 'e', 'n', 'd', '\n' });
+		out.close();
+		out = null;
+	}
+
+	/**
+	 * Method writeLine
+	 * Purpose:			Used to put the digits of a page number and a new line into the buffer.
+	 * Precondition:	The buffer must have room for the longest line.
+	 * Parameters:		@param page the page number
+	 */
+	private void writeLine(int page) {
+		long value = page;
+		if (value < 0) {
+			buffer[count++] = '-';
+			value = -value;
+		}
+		int end = count + digits(value);
+		for (int i = end - 1; i >= count; i--) {
+			buffer[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		buffer[end] = '\n';
+		count = end + 1;
+	}
+
+	/**
+	 * Method digits
+	 * Purpose:			Used to count the decimal digits of a number.
+	 * Parameters:		@param value the number, which must not be negative
+	 * Return:			@return the number of digits
+	 */
+	private static int digits(long value) {
+		int digits = 1;
+		while (value >= 10) {
+			value /= 10;
+			digits++;
+		}
+		return digits;
+	}
+
+	/**
+	 * Method flush
+	 * Purpose:			Used to write the buffer to the file.
+	 * Postcondition:	The buffer is empty
+	 * Throws:			@throws IOException if the file cannot be written
+	 */
+	private void flush() throws IOException {
+		out.write(buffer, 0, count);
+		count = 0;
+	}
+}
@@ -0,0 +1,36 @@
+/**
+ * Interface:		Trace
+ * Purpose:			The reference string of a process with a cursor marking the next reference to execute. Executing a
+ * 					reference moves the cursor. A trace may hold every reference in memory or read them as they are
+ * 					needed. Only a trace held in memory, an ArrayTrace, can have references added.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public interface Trace {
+
+	public int peek();					//Returns the next reference to execute
+
+	public void advance();				//Moves past the reference that was just executed
+
+	public int get(int index);			//Returns the reference at a position that is still held by the trace
+
+	public boolean isEmpty();			//true if every reference has been executed
+
+	public int remaining();				//Returns the number of references held that are left to execute
+
+	public int length();				//Returns the number of references held or executed so far
+
+	public int getCursor();				//Returns the position of the next reference to execute
+
+	/**
+	 * Method skip
+	 * Purpose:			Used to move the cursor past references without executing them, such as when a process is
+	 * 					restored from a checkpoint.
+	 * Postcondition:	The cursor is moved forward by the count, or to the end if fewer are left
+	 * Parameters:		@param count the number of references to skip
+	 */
+	public default void skip(int count) {
+		for (int i = 0; i < count && !isEmpty(); i++)
+			advance();
+	}
+}
@@ -0,0 +1,68 @@
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Class:			TraceConverter
+ * Purpose:			Converts process files from the text format into the binary trace format. Each file is read a block
+ * 					at a time and written as it is read, so files of any length can be converted. The process ID is taken
+ * 					from the digits of the file name and the name is the file name given, as when the text file is run.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TraceConverter {
+
+	/**
+	 * Method main
+	 * Purpose:			Main method that runs when the converter begins.
+	 * Postcondition:	Each text file is written to the output directory with the extension ".pgt" added.
+	 * @param args "--compress" optionally, then the output directory and the text files to convert.
+	 */
+	public static void main(String[] args) {
+		int first = 0;
+		boolean compress = false;
+		if (args.length > 0 && args[0].equals("--compress")) {
+			compress = true;
+			first++;
+		}
+		if (args.length - first < 2)
+			throw new IllegalArgumentException("Invalid arguements. An output directory and at least one text file must be defined.");
+		File directory = new File(args[first]);
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IllegalArgumentException("The output directory " + args[first] + " cannot be created.");
+		for (int i = first + 1; i < args.length; i++) {
+			String output = new File(directory, new File(args[i]).getName() + ".pgt").getPath();
+			try {
+				long length = convert(args[i], output, compress);
+				System.out.println(args[i] + " -> " + output + " (" + length + " references, " + new File(output).length() + " bytes)");
+			}
+			catch (IOException e) {
+				System.out.println(e);
+			}
+		}
+	}
+
+	/**
+	 * Method convert
+	 * Purpose:			Used to convert a text file into a binary trace.
+	 * Postcondition:	The binary trace is written
+	 * Parameters:		@param input the name of the text file
+	 * 					@param output the name of the binary trace to write
+	 * 					@param compress true to compress blocks when it makes them smaller
+	 * Return:			@return the number of references converted
+	 * Throws:			@throws IOException if a file cannot be read or written
+	 */
+	public static long convert(String input, String output, boolean compress) throws IOException {
+		int id = Integer.parseInt(input.replaceAll("\\D", ""));
+		int[] pages = new int[BinaryTrace.BLOCK_SIZE];
+		long length = 0;
+		try (TextTraceSource source = new TextTraceSource(input);
+				BinaryTraceWriter writer = new BinaryTraceWriter(output, id, input, compress)) {
+			int read;
+			while ((read = source.read(pages, 0, pages.length)) >= 0) {
+				writer.add(pages, 0, read);
+				length += read;
+			}
+		}
+		return length;
+	}
+}
@@ -0,0 +1,176 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class:			TraceGenerator
+ * Purpose:			Writes sets of process files with page numbers drawn from a workload spec, for testing the
+ * 					simulator with larger and more realistic inputs than the hand written files. The same seed, spec,
+ * 					process count and length always give the same files, however many threads write them. Each
+ * 					process is given its own random numbers split from the seed before any are written.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TraceGenerator {
+	private WorkloadSpec spec;				//The distribution of the page numbers
+	private long seed;						//The seed of the random numbers
+	private boolean binary;					//Whether files are written in the binary trace format
+	private boolean compress;				//Whether binary blocks are compressed
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param spec the distribution of the page numbers
+	 * 				@param seed the seed of the random numbers
+	 * 				@param binary true to write binary traces instead of text
+	 * 				@param compress true to compress the blocks of binary traces
+	 */
+	public TraceGenerator(WorkloadSpec spec, long seed, boolean binary, boolean compress) {
+		this.spec = spec;
+		this.seed = seed;
+		this.binary = binary;
+		this.compress = compress;
+	}
+
+	/**
+	 * Method main
+	 * Purpose:			Main method that runs when the generator begins.
+	 * Postcondition:	The process files are written to the output directory as Process1.txt, Process2.txt and so on,
+	 * 					or with the extension ".pgt" for binary traces.
+	 * @param args options, then the output directory, seed, number of processes, references in each process and the
+	 * 		  spec. The options are "--binary", "--compress" and "--threads=N". The number of references may end with
+	 * 		  k, m or g for thousands, millions or billions.
+	 */
+	public static void main(String[] args) {
+		int first = 0;
+		boolean binary = false;
+		boolean compress = false;
+		int threads = Runtime.getRuntime().availableProcessors();
+		while (first < args.length && args[first].startsWith("--")) {
+			if (args[first].equals("--binary"))
+				binary = true;
+			else if (args[first].equals("--compress"))
+				binary = compress = true;
+			else if (args[first].startsWith("--threads="))
+				threads = Integer.parseInt(args[first].substring("--threads=".length()));
+			else
+				throw new IllegalArgumentException("Unknown option " + args[first] + ".");
+			first++;
+		}
+		if (args.length - first != 5)
+			throw new IllegalArgumentException("Invalid arguements. An output directory, seed, number of processes, length and spec must be defined.");
+		File directory = new File(args[first]);
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IllegalArgumentException("The output directory " + args[first] + " cannot be created.");
+		TraceGenerator generator = new TraceGenerator(WorkloadSpec.parse(args[first + 4]), Long.parseLong(args[first + 1]), binary, compress);
+		int processes = Integer.parseInt(args[first + 2]);
+		long length = parseLength(args[first + 3]);
+		for (String fileName : generator.generate(directory, processes, length, threads))
+			System.out.println(fileName + " (" + length + " references, " + new File(fileName).length() + " bytes)");
+	}
+
+	/**
+	 * Method generate
+	 * Purpose:			Used to write the files of a set of processes, several at a time.
+	 * Postcondition:	Every file is written, or the first failure is thrown once the others have stopped.
+	 * Parameters:		@param directory the output directory
+	 * 					@param processes the number of processes
+	 * 					@param length the references in each process
+	 * 					@param threads the most files written at the same time
+	 * Return:			@return the names of the files in process order
+	 */
+	public List<String> generate(File directory, int processes, long length, int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("At least one thread is needed to write the files.");
+		SplittableRandom random = new SplittableRandom(seed);
+		List<String> fileNames = new ArrayList<String>();
+		List<Runnable> writes = new ArrayList<Runnable>();
+		for (int id = 1; id <= processes; id++) {
+			String fileName = new File(directory, "Process" + id + (binary ? ".pgt" : ".txt")).getPath();
+			SplittableRandom stream = random.split();
+			int processID = id;
+			fileNames.add(fileName);
+			writes.add(() -> write(fileName, processID, length, stream));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, processes)));
+		try {
+			List<Future<?>> results = new ArrayList<Future<?>>();
+			for (Runnable write : writes)
+				results.add(executor.submit(write));
+			RuntimeException failure = null;
+			for (Future<?> result : results) {
+				try {
+					result.get();
+				}
+				catch (ExecutionException e) {
+					if (failure == null)
+						failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for the files to be written.", e);
+				}
+			}
+			if (failure != null)
+				throw failure;
+			return fileNames;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Method write
+	 * Purpose:			Used to write the file of one process a block at a time.
+	 * Postcondition:	The file is complete
+	 * Parameters:		@param fileName the name of the file
+	 * 					@param id the ID of the process
+	 * 					@param length the references in the process
+	 * 					@param random the random numbers of the process
+	 */
+	private void write(String fileName, int id, long length, SplittableRandom random) {
+		Distribution distribution = spec.create(random);
+		int[] block = new int[BinaryTrace.BLOCK_SIZE];
+		try (TraceWriter writer = binary ? new BinaryTraceWriter(fileName, id, fileName, compress) : new TextTraceWriter(fileName)) {
+			for (long written = 0; written < length; written += block.length) {
+				int count = (int) Math.min(block.length, length - written);
+				for (int i = 0; i < count; i++)
+					block[i] = distribution.next();
+				writer.add(block, 0, count);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Method parseLength
+	 * Purpose:			Used to read a number of references, which may end with k, m or g.
+	 * Parameters:		@param text the number
+	 * Return:			@return the number of references
+	 */
+	private static long parseLength(String text) {
+		String lower = text.trim().toLowerCase();
+		long scale = 1;
+		if (lower.endsWith("k"))
+			scale = 1000L;
+		else if (lower.endsWith("m"))
+			scale = 1000000L;
+		else if (lower.endsWith("g"))
+			scale = 1000000000L;
+		if (scale > 1)
+			lower = lower.substring(0, lower.length() - 1);
+		long length = Math.multiplyExact(Long.parseLong(lower), scale);
+		if (length < 0)
+			throw new IllegalArgumentException("The length cannot be negative.");
+		return length;
+	}
+}
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Class:			TraceIngest
+ * Purpose:			Loads the traces of many processes at the same time, from a directory of trace files or from a
+ * 					manifest listing them, so that tens of thousands of processes are neither read one after another
+ * 					nor limited by the length of the command line. The files are read on a bounded pool of threads, and
+ * 					no more than a fixed number are open at once: a file is only handed to the pool once a permit is
+ * 					free, so the queue of waiting files never grows past the limit either. The traces are returned in
+ * 					order of their process IDs, whichever file finishes first.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TraceIngest {
+	private int threads;					//The threads reading files
+	private int openFiles;					//The most files open or waiting to be read at once
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param threads the threads reading files
+	 * 				@param openFiles the most files open or waiting to be read at once
+	 */
+	public TraceIngest(int threads, int openFiles) {
+		if (threads < 1 || openFiles < 1)
+			throw new IllegalArgumentException("At least one thread and one open file are needed to load the traces.");
+		this.threads = threads;
+		this.openFiles = openFiles;
+	}
+
+	/**
+	 * Method list
+	 * Purpose:			Used to find the trace files of an input, which is either a directory or a manifest.
+	 * Postcondition:	Returns every regular file of a directory in order of name, skipping hidden files, or every line
+	 * 					of a manifest in order. Blank lines and lines starting with "#" are skipped, and a path that is
+	 * 					not absolute is taken from the directory of the manifest.
+	 * Parameters:		@param input the name of the directory or manifest
+	 * Return:			@return the names of the trace files
+	 * Throws:			@throws IOException if the input cannot be read
+	 */
+	public static List<String> list(String input) throws IOException {
+		Path path = Path.of(input);
+		List<String> fileNames = new ArrayList<String>();
+		if (Files.isDirectory(path)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(path)) {
+				for (Path file : files) {
+					if (Files.isRegularFile(file) && !file.getFileName().toString().startsWith("."))
+						fileNames.add(file.toString());
+				}
+			}
+			Collections.sort(fileNames);
+			return fileNames;
+		}
+		Path directory = path.getParent();
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			Path file = Path.of(line);
+			fileNames.add(file.isAbsolute() || directory == null ? line : directory.resolve(file).toString());
+		}
+		return fileNames;
+	}
+
+	/**
+	 * Method load
+	 * Purpose:			Used to load every file at the same time.
+	 * Postcondition:	Returns the traces sorted by process ID, with processes of the same ID in the order their files
+	 * 					were given, so the result is the same however the reads are scheduled
+	 * Parameters:		@param fileNames the names of the files
+	 * 					@param loader loads one file, and is called on the threads of the pool
+	 * Return:			@return the traces in order of process ID
+	 */
+	public List<ProcessTrace> load(List<String> fileNames, Function<String, ProcessTrace> loader) {
+		ProcessTrace[] traces = new ProcessTrace[fileNames.size()];
+		if (threads == 1 || traces.length <= 1) {
+			for (int i = 0; i < traces.length; i++)
+				traces[i] = loader.apply(fileNames.get(i));
+			return sort(traces);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, traces.length));
+		Semaphore permits = new Semaphore(openFiles);
+		try {
+			List<Future<?>> reads = new ArrayList<Future<?>>();
+			for (int i = 0; i < traces.length; i++) {
+				int index = i;
+				permits.acquire();
+				reads.add(executor.submit(() -> {
+					try {
+						traces[index] = loader.apply(fileNames.get(index));
+					}
+					finally {
+						permits.release();
+					}
+				}));
+			}
+			for (Future<?> read : reads)
+				read.get();
+		}
+		catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading the traces.", e);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		return sort(traces);
+	}
+
+	/**
+	 * Method sort
+	 * Purpose:			Used to order the traces by process ID, keeping the order given for equal IDs.
+	 * Parameters:		@param traces the traces in the order their files were given
+	 * Return:			@return the sorted traces
+	 */
+	private static List<ProcessTrace> sort(ProcessTrace[] traces) {
+		List<ProcessTrace> sorted = new ArrayList<ProcessTrace>(traces.length);
+		Collections.addAll(sorted, traces);
+		sorted.sort((first, second) -> Integer.compare(first.getID(), second.getID()));
+		return sorted;
+	}
+}
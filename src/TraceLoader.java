@@ -0,0 +1,47 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class:			TraceLoader
+ * Purpose:			Reads the page numbers from the file of a process. The file is memory mapped and the numbers are
+ * 					parsed straight from its bytes by a TraceParser, so no lines or strings are created.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TraceLoader {
+	private static final long CHUNK = 1L << 30;		//The most bytes mapped at once
+
+	/**
+	 * Method read
+	 * Purpose:			Used to read the page numbers from a file.
+	 * Postcondition:	Returns the page numbers up to the line saying "end", or the end of the file.
+	 * Parameters:		@param fileName the name of the file
+	 * Return:			@return the page numbers in an array of their exact size
+	 * Throws:			@throws IOException if the file cannot be read
+	 * 					@throws NumberFormatException if a line with a digit is not a whole number
+	 */
+	public static int[] read(String fileName) throws IOException {
+		TraceParser parser = new TraceParser(fileName);
+		int[] pages = new int[64];
+		int count = 0;
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			long size = channel.size();
+			for (long position = 0; position < size && !parser.isFinished(); position += CHUNK) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK, size - position));
+				while (buffer.hasRemaining() && !parser.isFinished()) {
+					if (count == pages.length)
+						pages = Arrays.copyOf(pages, count * 2);
+					count += parser.parse(buffer, pages, count, pages.length - count);
+				}
+			}
+		}
+		if (count == pages.length)
+			pages = Arrays.copyOf(pages, count + 1);
+		count += parser.finish(pages, count);
+		return Arrays.copyOf(pages, count);
+	}
+}
@@ -0,0 +1,145 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Class:			TraceParser
+ * Purpose:			Parses page numbers from the bytes of a process file, keeping its place between calls so that the
+ * 					file can be parsed a block at a time. The rules are the same as reading the file line by line:
+ * 					parsing stops at a line saying "end" in any case, lines without a digit are skipped, and any other
+ * 					line must be a whole number. No lines or strings are created.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TraceParser {
+	private static final String END = "end";		//The line that ends the page numbers
+	private String fileName;						//The name of the file being parsed
+	private int lineNumber;							//The number of the line being parsed
+	private int lineLength;							//The number of characters parsed from the line
+	private long value;								//The digits of the line parsed so far
+	private boolean negative;						//Whether the line began with a minus sign
+	private boolean hasDigit;						//Whether the line has a digit
+	private boolean invalid;						//Whether the line has a character that is not part of a number
+	private boolean isEnd;							//Whether the line matches "end" so far
+	private boolean finished;						//Whether the line ending the page numbers was found
+	private boolean afterReturn;					//Whether the last line ended with a carriage return
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param fileName the name of the file being parsed, used in error messages
+	 */
+	public TraceParser(String fileName) {
+		this.fileName = fileName;
+		this.lineNumber = 1;
+		this.finished = false;
+		this.afterReturn = false;
+		resetLine();
+	}
+
+	/**
+	 * Method parse
+	 * Purpose:			Used to parse bytes of the file into page numbers. A line may carry on into the next bytes given.
+	 * Postcondition:	The position of the bytes moves past what was parsed. Parsing stops when the bytes run out, the
+	 * 					space for page numbers runs out, or the end is found.
+	 * Parameters:		@param bytes the bytes of the file
+	 * 					@param pages the array receiving the page numbers
+	 * 					@param offset the position of the first page number to write
+	 * 					@param length the most page numbers to write
+	 * Return:			@return the number of page numbers written
+	 * Throws:			@throws NumberFormatException if a line with a digit is not a whole number
+	 */
+	public int parse(ByteBuffer bytes, int[] pages, int offset, int length) {
+		int count = 0;
+		int i = bytes.position();
+		int limit = bytes.limit();
+		while (i < limit && count < length && !finished) {
+			byte c = bytes.get(i++);
+			if (c == '\n' && afterReturn) {						//The second half of a Windows line ending
+				afterReturn = false;
+				continue;
+			}
+			afterReturn = c == '\r';
+			if (c == '\n' || c == '\r') {
+				if (endLine())
+					pages[offset + count++] = (int) (negative ? -value : value);
+				resetLine();
+				continue;
+			}
+			if (c >= '0' && c <= '9') {
+				hasDigit = true;
+				if (value <= Integer.MAX_VALUE)
+					value = value * 10 + (c - '0');
+			}
+			else if ((c == '-' || c == '+') && lineLength == 0)
+				negative = c == '-';
+			else
+				invalid = true;
+			if (isEnd)
+				isEnd = lineLength < END.length() && Character.toLowerCase((char) c) == END.charAt(lineLength);
+			lineLength++;
+		}
+		bytes.position(i);
+		return count;
+	}
+
+	/**
+	 * Method finish
+	 * Purpose:			Used to finish parsing when the file has no more bytes, as the last line may have no line ending.
+	 * Postcondition:	The parser is finished and the last page number is written if there was one.
+	 * Parameters:		@param pages the array receiving the page number
+	 * 					@param offset the position to write the page number, which must be within the array
+	 * Return:			@return the number of page numbers written
+	 * Throws:			@throws NumberFormatException if the last line has a digit but is not a whole number
+	 */
+	public int finish(int[] pages, int offset) {
+		int count = 0;
+		if (!finished && endLine())
+			pages[offset + count++] = (int) (negative ? -value : value);
+		resetLine();
+		finished = true;
+		return count;
+	}
+
+	/**
+	 * Method isFinished
+	 * Purpose:			Used to determine whether parsing has finished, after which no more page numbers are written.
+	 * Postcondition:	Returns true if the end was found or the file ran out
+	 * Return:			@return true if parsing has finished
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Method endLine
+	 * Purpose:			Used to finish the line being parsed.
+	 * Postcondition:	Parsing finishes if the line says "end".
+	 * Return:			@return true if the line has a page number
+	 * Throws:			@throws NumberFormatException if a line with a digit is not a whole number
+	 */
+	private boolean endLine() {
+		lineNumber++;
+		if (isEnd && lineLength == END.length()) {
+			finished = true;
+			return false;
+		}
+		if (!hasDigit)
+			return false;
+		long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+		if (invalid || value > limit)
+			throw new NumberFormatException("Line " + (lineNumber - 1) + " of " + fileName + " is not a whole number.");
+		return true;
+	}
+
+	/**
+	 * Method resetLine
+	 * Purpose:			Used to clear the state of the line being parsed before the next line.
+	 * Postcondition:	The next byte parsed starts a new line
+	 */
+	private void resetLine() {
+		lineLength = 0;
+		value = 0;
+		negative = false;
+		hasDigit = false;
+		invalid = false;
+		isEnd = true;
+	}
+}
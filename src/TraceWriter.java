@@ -0,0 +1,14 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface:		TraceWriter
+ * Purpose:			Writes the page numbers of a process to a file a block at a time, in one of the formats the driver
+ * 					can read. The file is complete once the writer is closed.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public interface TraceWriter extends Closeable {
+
+	public void add(int[] pages, int offset, int count) throws IOException;	//Adds count pages to the end of the trace
+}
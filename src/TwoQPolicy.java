@@ -0,0 +1,159 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Class:			TwoQPolicy
+ * Purpose:			The full 2Q policy of Johnson and Shasha. A page seen for the first time goes into a small FIFO
+ * 					queue (A1in) holding about a quarter of the frames. Pages replaced from A1in are remembered in a
+ * 					ghost FIFO queue (A1out) of about half the frames, and only a page faulted on again while in A1out
+ * 					is admitted to the main LRU list (Am). A scan therefore only passes through A1in and leaves the hot
+ * 					pages in Am alone. Every operation is O(1).
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class TwoQPolicy implements ReplacementPolicy {
+	private static final int IN = 0;				//The FIFO queue A1in of resident pages seen once
+	private static final int MAIN = 1;				//The LRU list Am of resident pages seen again after leaving A1in
+	private static final int OUT = 2;				//The FIFO queue A1out of pages replaced from A1in
+	private int inLimit;							//The size A1in may grow to before its pages are replaced first
+	private int outLimit;							//The most pages remembered in A1out
+	private int[] pages;							//The page held in each frame
+	private NodeLists lists;						//The three lists, over the frame slots then the ghost entries
+	private GhostTable ghosts;						//The ghost entries of A1out
+	private boolean promote;						//Whether the page being loaded was found in A1out
+
+	/**
+	 * Constructor with a parameter to initialize all variables.
+	 * Parameters:	@param frames the number of frames of the process
+	 */
+	public TwoQPolicy(int frames) {
+		this.inLimit = Math.max(frames / 4, 1);
+		this.outLimit = Math.max(frames / 2, 1);
+		this.pages = new int[frames];
+		this.lists = new NodeLists(frames + outLimit, 3);
+		this.ghosts = new GhostTable(frames, outLimit);
+		this.promote = false;
+	}
+
+	/**
+	 * Method onHit
+	 * Purpose:			Used to move the frame holding a page that was just used to the front of Am. A page in A1in
+	 * 					keeps its place.
+	 * Parameters:		@param slot the slot of the frame holding the page
+	 */
+	@Override
+	public void onHit(int slot) {
+		if (lists.getList(slot) == MAIN)
+			lists.moveToFirst(MAIN, slot);
+	}
+
+	/**
+	 * Method onHits
+	 * Purpose:			Used to move the frames in Am used by a run of hits to its front, in the order each was last
+	 * 					used. Hits do not move pages between the queues, so the pages in A1in stay where they are.
+	 * Parameters:		@param slots the slot of the frame used by each reference of the run
+	 * 					@param count the number of references in the run
+	 * 					@param cursor the position in the trace of the first reference of the run
+	 */
+	@Override
+	public void onHits(int[] slots, int count, int cursor) {
+		lists.moveAllToFirst(MAIN, slots, 0, count, MAIN);
+	}
+
+	/**
+	 * Method chooseVictim
+	 * Purpose:			Used to replace the oldest page of A1in if it is over its limit, remembering it in A1out, or the
+	 * 					least recently used page of Am if it is not.
+	 * Parameters:		@param page the page that caused the fault
+	 * Return:			@return the slot of the frame to replace
+	 */
+	@Override
+	public int chooseVictim(int page) {
+		int ghost = ghosts.find(page);
+		if (ghost >= 0) {
+			forget(ghost);
+			promote = true;
+		}
+		int slot;
+		if (lists.size(IN) > inLimit || lists.size(MAIN) == 0) {
+			slot = lists.getLast(IN);
+			lists.remove(slot);
+			if (ghosts.isFull())
+				forget(lists.getLast(OUT));
+			lists.addFirst(OUT, ghosts.add(pages[slot]));
+		}
+		else {
+			slot = lists.getLast(MAIN);
+			lists.remove(slot);
+		}
+		return slot;
+	}
+
+	/**
+	 * Method onFault
+	 * Purpose:			Used to put the frame a page was loaded into at the front of Am if the page was remembered in
+	 * 					A1out, or the front of A1in if it was not.
+	 * Parameters:		@param slot the slot of the frame
+	 * 					@param page the page loaded
+	 */
+	@Override
+	public void onFault(int slot, int page) {
+		int ghost = promote ? -1 : ghosts.find(page);						//Remembered but loaded into a free frame
+		if (ghost >= 0) {
+			forget(ghost);
+			promote = true;
+		}
+		pages[slot] = page;
+		lists.addFirst(promote ? MAIN : IN, slot);
+		promote = false;
+	}
+
+	/**
+	 * Method onRemove
+	 * Purpose:			Used to take a freed frame out of A1in or Am without remembering its page.
+	 * Parameters:		@param slot the slot of the frame freed
+	 */
+	@Override
+	public void onRemove(int slot) {
+		lists.remove(slot);
+	}
+
+	/**
+	 * Method forget
+	 * Purpose:			Used to remove a ghost entry from A1out and the ghost table.
+	 * Parameters:		@param ghost the node of the entry
+	 */
+	private void forget(int ghost) {
+		lists.remove(ghost);
+		ghosts.remove(ghost);
+	}
+
+	/**
+	 * Method writeState
+	 * Purpose:			Used to write the pages and the three lists to a checkpoint.
+	 * Parameters:		@param out the stream to write
+	 * Throws:			@throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void writeState(DataOutputStream out) throws IOException {
+		Checkpoint.writeInts(out, pages);
+		lists.writeState(out);
+		ghosts.writeState(out);
+		out.writeBoolean(promote);
+	}
+
+	/**
+	 * Method readState
+	 * Purpose:			Used to replace the pages and the three lists with those read from a checkpoint.
+	 * Parameters:		@param in the stream to read
+	 * Throws:			@throws IOException if the stream cannot be read or does not match
+	 */
+	@Override
+	public void readState(DataInputStream in) throws IOException {
+		Checkpoint.readInts(in, pages);
+		lists.readState(in);
+		ghosts.readState(in);
+		promote = in.readBoolean();
+	}
+}
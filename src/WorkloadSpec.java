@@ -0,0 +1,531 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Class:			WorkloadSpec
+ * Purpose:			Describes the distribution of the page numbers of generated traces. A spec is a kind followed by
+ * 					its settings, such as "zipf:pages=1000,skew=0.9". The kinds are:
+ * 						uniform		pages=100							every page is equally likely
+ * 						zipf		pages=1000, skew=1.0				page k is used in proportion to 1 / k^skew
+ * 						loop		pages=100							the pages in order, starting again at the end
+ * 						scan		pages=1000000, run=1000				runs of consecutive pages from random places
+ * 						phase		pages=1000, set=20, length=1000		a random working set of consecutive pages,
+ * 																		moved after every length references
+ * 					Specs joined by "+" are mixed, each reference coming from one of them chosen at random in proportion
+ * 					to the weight before a "*", for example "0.8*zipf:pages=200+0.2*scan". Each part of a mix uses its
+ * 					own pages, after those of the parts before it, unless "offset=" is given. Zipf parts of up to about a
+ * 					million pages are drawn from an alias table built once for the spec, and larger ones by rejection
+ * 					inversion, so every kind takes constant time for each reference.
+ * Student Name:	Sean Crocker
+ * Student Number:	3307768
+ */
+public class WorkloadSpec {
+	private String text;				//The spec as it was given
+	private List<Part> parts;			//The distributions mixed
+
+	/**
+	 * Constructor with parameters to initialize all variables.
+	 * Parameters:	@param text the spec as it was given
+	 * 				@param parts the distributions mixed
+	 */
+	private WorkloadSpec(String text, List<Part> parts) {
+		this.text = text;
+		this.parts = parts;
+	}
+
+	/**
+	 * Method parse
+	 * Purpose:			Used to read a spec.
+	 * Postcondition:	Returns the spec, or throws IllegalArgumentException naming the part that is wrong
+	 * Parameters:		@param text the spec
+	 * Return:			@return the spec
+	 */
+	public static WorkloadSpec parse(String text) {
+		List<Part> parts = new ArrayList<Part>();
+		int offset = 0;
+		for (String part : text.split("\\+")) {
+			Part parsed = new Part(part.trim(), offset);
+			parts.add(parsed);
+			offset = Math.max(offset, parsed.offset + parsed.pages);
+		}
+		return new WorkloadSpec(text, parts);
+	}
+
+	/**
+	 * Method create
+	 * Purpose:			Used to create the distribution of one trace.
+	 * Parameters:		@param random the random numbers of the trace
+	 * Return:			@return the distribution
+	 */
+	public Distribution create(SplittableRandom random) {
+		if (parts.size() == 1)
+			return parts.get(0).create(random);
+		Distribution[] distributions = new Distribution[parts.size()];
+		double[] cumulative = new double[parts.size()];
+		double total = 0;
+		for (int i = 0; i < parts.size(); i++) {
+			distributions[i] = parts.get(i).create(random.split());
+			total += parts.get(i).weight;
+			cumulative[i] = total;
+		}
+		for (int i = 0; i < cumulative.length; i++)
+			cumulative[i] /= total;
+		return new Mixed(random, distributions, cumulative);
+	}
+
+	/**
+	 * Method toString
+	 * Purpose:			Used to return the spec as it was given.
+	 * Return:			@return the spec
+	 */
+	@Override
+	public String toString() {
+		return text;
+	}
+
+	/**
+	 * Class:			Part
+	 * Purpose:			One distribution of a spec with its settings and weight.
+	 */
+	private static class Part {
+		private String kind;							//The kind of distribution
+		private double weight;							//The share of references from this part of a mix
+		private Map<String, String> settings;			//The settings not yet read, only while parsing
+		private int pages;								//The number of pages used
+		private int offset;								//The first page used
+		private double skew;							//The skew of a Zipf distribution
+		private int run;								//The pages in each run of a scan
+		private int set;								//The pages in the working set of a phase
+		private int length;								//The references in each phase
+		private AliasTable table;						//The alias table of a Zipf distribution, or null if too large
+
+		/**
+		 * Constructor with parameters to read a part of a spec.
+		 * Parameters:	@param text the part, such as "0.5*zipf:pages=100"
+		 * 				@param offset the first page if no offset is given
+		 */
+		private Part(String text, int offset) {
+			String body = text;
+			this.weight = 1;
+			int star = text.indexOf('*');
+			if (star >= 0) {
+				weight = Double.parseDouble(text.substring(0, star).trim());
+				body = text.substring(star + 1).trim();
+				if (!(weight > 0))
+					throw new IllegalArgumentException("The weight of " + text + " must be more than zero.");
+			}
+			int colon = body.indexOf(':');
+			this.kind = (colon < 0 ? body : body.substring(0, colon)).trim().toLowerCase();
+			this.settings = new HashMap<String, String>();
+			if (colon >= 0) {
+				for (String setting : body.substring(colon + 1).split(",")) {
+					String[] pair = setting.split("=", 2);
+					if (pair.length != 2)
+						throw new IllegalArgumentException("The setting " + setting + " of " + text + " must be a name, = and a value.");
+					settings.put(pair[0].trim().toLowerCase(), pair[1].trim());
+				}
+			}
+			switch (kind) {
+				case "uniform":
+				case "loop":
+					pages = getInt("pages", 100);
+					break;
+				case "zipf":
+					pages = getInt("pages", 1000);
+					skew = getDouble("skew", 1.0);
+					if (!(skew > 0))
+						throw new IllegalArgumentException("The skew of " + text + " must be more than zero.");
+					if (pages <= AliasTable.LIMIT)
+						table = AliasTable.zipf(pages, skew);
+					break;
+				case "scan":
+					pages = getInt("pages", 1000000);
+					run = getInt("run", 1000);
+					break;
+				case "phase":
+					pages = getInt("pages", 1000);
+					set = getInt("set", 20);
+					length = getInt("length", 1000);
+					if (set > pages)
+						throw new IllegalArgumentException("The working set of " + text + " cannot be larger than its pages.");
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown distribution " + kind + ". Choose from uniform, zipf, loop, scan or phase.");
+			}
+			this.offset = settings.containsKey("offset") ? Integer.parseInt(settings.remove("offset")) : offset;
+			if (!settings.isEmpty())
+				throw new IllegalArgumentException("Unknown settings " + settings.keySet() + " for " + kind + ".");
+			this.settings = null;
+		}
+
+		/**
+		 * Method getInt
+		 * Purpose:			Used to read a whole number setting, which must be at least one.
+		 * Parameters:		@param name the name of the setting
+		 * 					@param otherwise the value if it is not given
+		 * Return:			@return the value
+		 */
+		private int getInt(String name, int otherwise) {
+			String value = settings.remove(name);
+			int result = value == null ? otherwise : Integer.parseInt(value);
+			if (result < 1)
+				throw new IllegalArgumentException("The " + name + " of " + kind + " must be at least one.");
+			return result;
+		}
+
+		/**
+		 * Method getDouble
+		 * Purpose:			Used to read a number setting.
+		 * Parameters:		@param name the name of the setting
+		 * 					@param otherwise the value if it is not given
+		 * Return:			@return the value
+		 */
+		private double getDouble(String name, double otherwise) {
+			String value = settings.remove(name);
+			return value == null ? otherwise : Double.parseDouble(value);
+		}
+
+		/**
+		 * Method create
+		 * Purpose:			Used to create the distribution of this part for one trace.
+		 * Parameters:		@param random the random numbers of the distribution
+		 * Return:			@return the distribution
+		 */
+		private Distribution create(SplittableRandom random) {
+			switch (kind) {
+				case "uniform":
+					return () -> offset + random.nextInt(pages);
+				case "zipf":
+					if (table != null)
+						return () -> offset + table.sample(random);
+					return new Zipf(random, pages, skew, offset);
+				case "loop":
+					return new Scan(random, pages, Integer.MAX_VALUE, offset);
+				case "scan":
+					return new Scan(random, pages, run, offset);
+				default:
+					return new Phase(random, pages, set, length, offset);
+			}
+		}
+	}
+
+	/**
+	 * Class:			AliasTable
+	 * Purpose:			Vose's alias table for drawing from any distribution over a fixed number of pages in constant
+	 * 					time. Each page has a column holding its own share and the page that fills the rest of the column.
+	 * 					The table is never changed once built, so it is shared by the traces of every process.
+	 */
+	private static class AliasTable {
+		private static final int LIMIT = 1 << 20;		//The most pages given a table
+		private double[] share;							//The part of each column that picks its own page
+		private int[] alias;							//The page picked by the rest of each column
+
+		/**
+		 * Constructor with a parameter to build the table.
+		 * Parameters:	@param weights the weight of each page, which need not add to one
+		 */
+		private AliasTable(double[] weights) {
+			int n = weights.length;
+			double total = 0;
+			for (double weight : weights)
+				total += weight;
+			this.share = new double[n];
+			this.alias = new int[n];
+			int[] small = new int[n];
+			int[] large = new int[n];
+			int smallCount = 0;
+			int largeCount = 0;
+			for (int i = 0; i < n; i++) {
+				share[i] = weights[i] * n / total;
+				if (share[i] < 1)
+					small[smallCount++] = i;
+				else
+					large[largeCount++] = i;
+			}
+			while (smallCount > 0 && largeCount > 0) {
+				int less = small[--smallCount];
+				int more = large[largeCount - 1];
+				alias[less] = more;
+				share[more] -= 1 - share[less];
+				if (share[more] < 1) {
+					largeCount--;
+					small[smallCount++] = more;
+				}
+			}
+			while (largeCount > 0)
+				share[large[--largeCount]] = 1;
+			while (smallCount > 0)
+				share[small[--smallCount]] = 1;
+		}
+
+		/**
+		 * Method zipf
+		 * Purpose:			Used to build the table of a Zipf distribution.
+		 * Parameters:		@param pages the number of pages
+		 * 					@param skew the skew
+		 * Return:			@return the table
+		 */
+		private static AliasTable zipf(int pages, double skew) {
+			double[] weights = new double[pages];
+			for (int k = 1; k <= pages; k++)
+				weights[k - 1] = Math.pow(k, -skew);
+			return new AliasTable(weights);
+		}
+
+		/**
+		 * Method sample
+		 * Purpose:			Used to draw a page, using one random number for both the column and the side of it.
+		 * Parameters:		@param random the random numbers
+		 * Return:			@return the page, counting from zero
+		 */
+		private int sample(SplittableRandom random) {
+			double u = random.nextDouble() * share.length;
+			int column = (int) u;
+			return u - column < share[column] ? column : alias[column];
+		}
+	}
+
+	/**
+	 * Class:			Scan
+	 * Purpose:			Uses pages in order, wrapping around at the end of the pages, and moves to a random page after
+	 * 					every run. A loop is a scan whose run never ends, so it starts at the first page.
+	 */
+	private static class Scan implements Distribution {
+		private SplittableRandom random;				//The random numbers for the start of each run
+		private int pages;								//The number of pages
+		private int run;								//The pages in each run
+		private int offset;								//The first page
+		private int position;							//The next page, less the offset
+		private int left;								//The pages left in the run
+
+		/**
+		 * Constructor with parameters to initialize all variables.
+		 * Parameters:	@param random the random numbers for the start of each run
+		 * 				@param pages the number of pages
+		 * 				@param run the pages in each run
+		 * 				@param offset the first page
+		 */
+		private Scan(SplittableRandom random, int pages, int run, int offset) {
+			this.random = random;
+			this.pages = pages;
+			this.run = run;
+			this.offset = offset;
+			this.position = 0;
+			this.left = run;
+		}
+
+		/**
+		 * Method next
+		 * Purpose:			Used to return the next page number.
+		 * Return:			@return the page number
+		 */
+		@Override
+		public int next() {
+			if (left == 0) {
+				position = random.nextInt(pages);
+				left = run;
+			}
+			left--;
+			int page = offset + position;
+			position = position + 1 == pages ? 0 : position + 1;
+			return page;
+		}
+	}
+
+	/**
+	 * Class:			Phase
+	 * Purpose:			Uses a working set of consecutive pages uniformly, moving the set to a random place after every
+	 * 					phase, so the locality of a program changing from one task to the next.
+	 */
+	private static class Phase implements Distribution {
+		private SplittableRandom random;				//The random numbers
+		private int pages;								//The number of pages
+		private int set;								//The pages in the working set
+		private int length;								//The references in each phase
+		private AliasTable table;						//The alias table of a Zipf distribution, or null if too large
+		private int offset;								//The first page
+		private int base;								//The first page of the working set, less the offset
+		private int left;								//The references left in the phase
+
+		/**
+		 * Constructor with parameters to initialize all variables.
+		 * Parameters:	@param random the random numbers
+		 * 				@param pages the number of pages
+		 * 				@param set the pages in the working set
+		 * 				@param length the references in each phase
+		 * 				@param offset the first page
+		 */
+		private Phase(SplittableRandom random, int pages, int set, int length, int offset) {
+			this.random = random;
+			this.pages = pages;
+			this.set = set;
+			this.length = length;
+			this.offset = offset;
+			this.left = 0;
+		}
+
+		/**
+		 * Method next
+		 * Purpose:			Used to return the next page number.
+		 * Return:			@return the page number
+		 */
+		@Override
+		public int next() {
+			if (left == 0) {
+				base = random.nextInt(pages);
+				left = length;
+			}
+			left--;
+			return offset + (int) ((base + (long) random.nextInt(set)) % pages);
+		}
+	}
+
+	/**
+	 * Class:			Mixed
+	 * Purpose:			Takes each reference from one of several distributions, chosen at random by weight.
+	 */
+	private static class Mixed implements Distribution {
+		private SplittableRandom random;				//The random numbers for choosing a distribution
+		private Distribution[] distributions;			//The distributions mixed
+		private double[] cumulative;					//The running total of the weights, ending at one
+
+		/**
+		 * Constructor with parameters to initialize all variables.
+		 * Parameters:	@param random the random numbers for choosing a distribution
+		 * 				@param distributions the distributions mixed
+		 * 				@param cumulative the running total of the weights, ending at one
+		 */
+		private Mixed(SplittableRandom random, Distribution[] distributions, double[] cumulative) {
+			this.random = random;
+			this.distributions = distributions;
+			this.cumulative = cumulative;
+		}
+
+		/**
+		 * Method next
+		 * Purpose:			Used to return the next page number.
+		 * Return:			@return the page number
+		 */
+		@Override
+		public int next() {
+			double choice = random.nextDouble();
+			int i = 0;
+			while (i < cumulative.length - 1 && choice >= cumulative[i])
+				i++;
+			return distributions[i].next();
+		}
+	}
+
+	/**
+	 * Class:			Zipf
+	 * Purpose:			Uses page k, counting from one, in proportion to 1 / k^skew. Pages are drawn in constant time
+	 * 					by the rejection inversion method of Hormann and Derflinger, so no table of the pages is needed
+	 * 					however many there are.
+	 */
+	private static class Zipf implements Distribution {
+		private SplittableRandom random;				//The random numbers
+		private int pages;								//The number of pages
+		private double skew;							//The skew
+		private int offset;								//The first page
+		private double first;							//The integral of the hat function up to the first page, less one
+		private double last;							//The integral of the hat function up to the last page
+		private double squeeze;							//Pages this close to the sample are accepted without a check
+
+		/**
+		 * Constructor with parameters to initialize all variables.
+		 * Parameters:	@param random the random numbers
+		 * 				@param pages the number of pages
+		 * 				@param skew the skew, more than zero
+		 * 				@param offset the first page
+		 */
+		private Zipf(SplittableRandom random, int pages, double skew, int offset) {
+			this.random = random;
+			this.pages = pages;
+			this.skew = skew;
+			this.offset = offset;
+			this.first = integral(1.5) - 1;
+			this.last = integral(pages + 0.5);
+			this.squeeze = 2 - inverse(integral(2.5) - hat(2));
+		}
+
+		/**
+		 * Method next
+		 * Purpose:			Used to return the next page number.
+		 * Return:			@return the page number
+		 */
+		@Override
+		public int next() {
+			while (true) {
+				double u = last + random.nextDouble() * (first - last);
+				double x = inverse(u);
+				long k = (long) (x + 0.5);
+				if (k < 1)
+					k = 1;
+				else if (k > pages)
+					k = pages;
+				if (k - x <= squeeze || u >= integral(k + 0.5) - hat(k))
+					return offset + (int) k - 1;
+			}
+		}
+
+		/**
+		 * Method hat
+		 * Purpose:			Used to return the weight of a page, 1 / x^skew.
+		 * Parameters:		@param x the page, counting from one
+		 * Return:			@return the weight
+		 */
+		private double hat(double x) {
+			return Math.exp(-skew * Math.log(x));
+		}
+
+		/**
+		 * Method integral
+		 * Purpose:			Used to return the integral of the hat function, written so it stays accurate as the skew
+		 * 					nears one.
+		 * Parameters:		@param x the upper limit
+		 * Return:			@return the integral
+		 */
+		private double integral(double x) {
+			double log = Math.log(x);
+			return expm1OverX((1 - skew) * log) * log;
+		}
+
+		/**
+		 * Method inverse
+		 * Purpose:			Used to return the inverse of the integral of the hat function.
+		 * Parameters:		@param x the value of the integral
+		 * Return:			@return the upper limit giving the value
+		 */
+		private double inverse(double x) {
+			double t = Math.max(x * (1 - skew), -1);
+			return Math.exp(log1pOverX(t) * x);
+		}
+
+		/**
+		 * Method log1pOverX
+		 * Purpose:			Used to return log(1 + x) / x, using its series near zero.
+		 * Parameters:		@param x the value
+		 * Return:			@return the result
+		 */
+		private static double log1pOverX(double x) {
+			if (Math.abs(x) > 1e-8)
+				return Math.log1p(x) / x;
+			return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+		}
+
+		/**
+		 * Method expm1OverX
+		 * Purpose:			Used to return (exp(x) - 1) / x, using its series near zero.
+		 * Parameters:		@param x the value
+		 * Return:			@return the result
+		 */
+		private static double expm1OverX(double x) {
+			if (Math.abs(x) > 1e-8)
+				return Math.expm1(x) / x;
+			return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+		}
+	}
+}